@@ -0,0 +1,111 @@
+package br.edu.ibmec.projeto_cloud.benchmark;
+
+import br.edu.ibmec.projeto_cloud.model.Cliente;
+import br.edu.ibmec.projeto_cloud.model.Endereco;
+import br.edu.ibmec.projeto_cloud.repository.ClienteRepository;
+import br.edu.ibmec.projeto_cloud.service.ClienteService;
+import br.edu.ibmec.projeto_cloud.service.EnderecoService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Mistura de leituras e escritas com e sem o cache de segundo nível do Hibernate. Além do tempo por
+// operação, os contadores "comandosSql" e "operacoes" mostram quantas idas ao banco cada operação custa.
+// Mistura: 80% leitura do cliente com os endereços, 10% atualização do cliente (atualizarCliente) e
+// 10% inclusão e remoção de um endereço (salvarEndereco + removerEndereco).
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CacheSegundoNivelBenchmark {
+
+    private static final int CLIENTES = 1000;
+
+    @Param({"false", "true"})
+    private boolean segundoNivel;
+
+    private ConfigurableApplicationContext contexto;
+    private ClienteRepository clienteRepository;
+    private ClienteService clienteService;
+    private EnderecoService enderecoService;
+    private TransactionTemplate leitura;
+    private Statistics statistics;
+    private Long[] ids;
+
+    // Contadores somados por iteração; comandosSql / operacoes é a média de comandos por operação
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Contadores {
+        public long comandosSql;
+        public long operacoes;
+
+        @Setup(Level.Iteration)
+        public void zerar() {
+            comandosSql = 0;
+            operacoes = 0;
+        }
+    }
+
+    @Setup
+    public void iniciar() {
+        contexto = DadosBenchmark.iniciarAplicacao("clientes.cache.segundo-nivel=" + segundoNivel);
+        clienteRepository = contexto.getBean(ClienteRepository.class);
+        clienteService = contexto.getBean(ClienteService.class);
+        enderecoService = contexto.getBean(EnderecoService.class);
+        leitura = new TransactionTemplate(contexto.getBean(PlatformTransactionManager.class));
+        leitura.setReadOnly(true);
+        statistics = contexto.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+
+        List<Cliente> lote = new ArrayList<>();
+        for (int i = 1; i <= CLIENTES; i++) {
+            lote.add(DadosBenchmark.cliente(i, 3));
+        }
+        ids = clienteService.salvarClientes(lote).stream().map(Cliente::getId).toArray(Long[]::new);
+    }
+
+    @TearDown
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public Object misturaLeituraEscrita(Contadores contadores) {
+        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+        int indice = aleatorio.nextInt(ids.length);
+        Long id = ids[indice];
+        int sorteio = aleatorio.nextInt(100);
+        long comandosAntes = statistics.getPrepareStatementCount();
+
+        Object resultado;
+        if (sorteio < 80) {
+            resultado = leitura.execute(status -> clienteRepository.findById(id).orElseThrow().getEnderecos().size());
+        } else if (sorteio < 90) {
+            Cliente dados = DadosBenchmark.cliente(indice + 1, 0);
+            dados.setNome("Cliente " + (indice + 1) + " " + aleatorio.nextInt(1000));
+            resultado = clienteService.atualizarCliente(id, dados);
+        } else {
+            Cliente dono = new Cliente();
+            dono.setId(id);
+            Endereco endereco = DadosBenchmark.endereco(4);
+            endereco.setCliente(dono);
+            Endereco salvo = enderecoService.salvarEndereco(endereco);
+            enderecoService.removerEndereco(salvo.getId());
+            resultado = salvo;
+        }
+
+        contadores.comandosSql += statistics.getPrepareStatementCount() - comandosAntes;
+        contadores.operacoes++;
+        return resultado;
+    }
+}
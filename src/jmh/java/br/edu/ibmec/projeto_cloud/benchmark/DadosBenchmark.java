@@ -0,0 +1,62 @@
+package br.edu.ibmec.projeto_cloud.benchmark;
+
+import br.edu.ibmec.projeto_cloud.ProjetoCloudApplication;
+import br.edu.ibmec.projeto_cloud.model.Cliente;
+import br.edu.ibmec.projeto_cloud.model.Endereco;
+import br.edu.ibmec.projeto_cloud.validation.CpfValidator;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+
+// Dados e infraestrutura compartilhados pelos benchmarks
+public final class DadosBenchmark {
+
+    private DadosBenchmark() {
+    }
+
+    // Sobe a aplicação sem servidor web, sobre o H2 em memória do profile "embedded"
+    public static ConfigurableApplicationContext iniciarAplicacao(String... propriedades) {
+        return new SpringApplicationBuilder(ProjetoCloudApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("embedded")
+                .properties(propriedades)
+                .run();
+    }
+
+    // Sobe a aplicação com o Tomcat em uma porta livre; a porta fica em "local.server.port"
+    public static ConfigurableApplicationContext iniciarServidor(String... propriedades) {
+        return new SpringApplicationBuilder(ProjetoCloudApplication.class)
+                .profiles("embedded")
+                .properties("server.port=0")
+                .properties(propriedades)
+                .run();
+    }
+
+    public static Cliente cliente(long numero, int enderecos) {
+        Cliente cliente = new Cliente();
+        cliente.setNome("Cliente " + numero);
+        cliente.setEmail("cliente" + numero + "@gmail.com");
+        cliente.setCpf(CpfValidator.gerar(numero));
+        cliente.setTelefone("(11) 99999-9999");
+        cliente.setDataNascimento(LocalDate.of(1990, 5, 10));
+        for (int i = 1; i <= enderecos; i++) {
+            Endereco endereco = endereco(i);
+            endereco.setCliente(cliente);
+            cliente.getEnderecos().add(endereco);
+        }
+        return cliente;
+    }
+
+    public static Endereco endereco(int numero) {
+        Endereco endereco = new Endereco();
+        endereco.setRua("Rua Exemplo " + numero);
+        endereco.setNumero(String.valueOf(numero));
+        endereco.setBairro("Bairro Central");
+        endereco.setCidade("São Paulo");
+        endereco.setEstado("SP");
+        endereco.setCep("12345-678");
+        return endereco;
+    }
+}
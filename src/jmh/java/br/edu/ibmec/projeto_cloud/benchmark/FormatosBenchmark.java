@@ -0,0 +1,63 @@
+package br.edu.ibmec.projeto_cloud.benchmark;
+
+import br.edu.ibmec.projeto_cloud.validation.CepValidator;
+import br.edu.ibmec.projeto_cloud.validation.CpfValidator;
+import br.edu.ibmec.projeto_cloud.validation.TelefoneValidator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+// Validadores de CPF, telefone e CEP escritos à mão comparados com as regex @Pattern que eles substituíram.
+// Rode com "-prof gc": as versões com regex alocam um Matcher por chamada, as novas não alocam.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FormatosBenchmark {
+
+    private static final Pattern REGEX_CPF = Pattern.compile("\\d{3}\\.\\d{3}\\.\\d{3}-\\d{2}");
+    private static final Pattern REGEX_TELEFONE = Pattern.compile("\\(\\d{2}\\) \\d{5}-\\d{4}");
+    private static final Pattern REGEX_CEP = Pattern.compile("\\d{5}-\\d{3}");
+
+    private final CpfValidator cpfValidator = new CpfValidator();
+    private final TelefoneValidator telefoneValidator = new TelefoneValidator();
+    private final CepValidator cepValidator = new CepValidator();
+
+    private String cpf = "529.982.247-25";
+    private String telefone = "(11) 99999-9999";
+    private String cep = "12345-678";
+
+    @Benchmark
+    public boolean cpfRegex() {
+        return REGEX_CPF.matcher(cpf).matches();
+    }
+
+    // Também confere os dígitos verificadores, o que a regex não fazia
+    @Benchmark
+    public boolean cpfValidador() {
+        return cpfValidator.isValid(cpf, null);
+    }
+
+    @Benchmark
+    public boolean telefoneRegex() {
+        return REGEX_TELEFONE.matcher(telefone).matches();
+    }
+
+    @Benchmark
+    public boolean telefoneValidador() {
+        return telefoneValidator.isValid(telefone, null);
+    }
+
+    @Benchmark
+    public boolean cepRegex() {
+        return REGEX_CEP.matcher(cep).matches();
+    }
+
+    @Benchmark
+    public boolean cepValidador() {
+        return cepValidator.isValid(cep, null);
+    }
+}
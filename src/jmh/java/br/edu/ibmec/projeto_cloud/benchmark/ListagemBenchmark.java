@@ -0,0 +1,71 @@
+package br.edu.ibmec.projeto_cloud.benchmark;
+
+import br.edu.ibmec.projeto_cloud.model.Cliente;
+import br.edu.ibmec.projeto_cloud.service.ClienteService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Página de clientes pelo caminho de entidades (GET /clientes) e pela projeção (GET /clientes/resumo),
+// incluindo a serialização. Rode com "-prof gc" para comparar a alocação por página.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ListagemBenchmark {
+
+    @Param({"20", "100"})
+    private int limite;
+
+    private ConfigurableApplicationContext contexto;
+    private ClienteService clienteService;
+    private ObjectMapper objectMapper;
+    private TransactionTemplate sessaoAberta;
+
+    @Setup
+    public void iniciar() {
+        contexto = DadosBenchmark.iniciarAplicacao();
+        clienteService = contexto.getBean(ClienteService.class);
+        objectMapper = contexto.getBean(ObjectMapper.class);
+        // Faz o papel do open-in-view da aplicação web: os endereços são carregados durante a serialização
+        sessaoAberta = new TransactionTemplate(contexto.getBean(PlatformTransactionManager.class));
+
+        List<Cliente> lote = new ArrayList<>();
+        for (int i = 1; i <= 500; i++) {
+            lote.add(DadosBenchmark.cliente(i, 3));
+        }
+        clienteService.salvarClientes(lote);
+    }
+
+    @TearDown
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public byte[] listarEntidades() {
+        return sessaoAberta.execute(status -> serializar(clienteService.listarClientes(null, limite)));
+    }
+
+    @Benchmark
+    public byte[] listarResumos() {
+        return serializar(clienteService.listarResumos(null, limite));
+    }
+
+    private byte[] serializar(Object valor) {
+        try {
+            return objectMapper.writeValueAsBytes(valor);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package br.edu.ibmec.projeto_cloud.benchmark;
+
+import br.edu.ibmec.projeto_cloud.model.Cliente;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// Serialização e leitura de um Cliente com N endereços, como nas respostas e requisições da API, em JSON
+// e nos formatos binários aceitos por Accept/Content-Type (Smile e CBOR). O contador "bytes" dividido por
+// "operacoes" é o tamanho do corpo em cada formato.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializacaoBenchmark {
+
+    @Param({"0", "5", "20"})
+    private int enderecos;
+
+    @Param({"json", "smile", "cbor"})
+    private String formato;
+
+    private ObjectMapper objectMapper;
+    private Cliente cliente;
+    private byte[] corpo;
+
+    // Bytes gerados por iteração; bytes / operacoes é o tamanho do corpo
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Contadores {
+        public long bytes;
+        public long operacoes;
+
+        @Setup(Level.Iteration)
+        public void zerar() {
+            bytes = 0;
+            operacoes = 0;
+        }
+    }
+
+    @Setup
+    public void preparar() throws IOException {
+        Jackson2ObjectMapperBuilder builder = switch (formato) {
+            case "smile" -> Jackson2ObjectMapperBuilder.smile();
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor();
+            default -> Jackson2ObjectMapperBuilder.json();
+        };
+        // Mesma configuração de datas usada pelo Spring Boot
+        objectMapper = builder
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        cliente = DadosBenchmark.cliente(1, enderecos);
+        cliente.setId(1L);
+        corpo = objectMapper.writeValueAsBytes(cliente);
+    }
+
+    @Benchmark
+    public byte[] serializarCliente(Contadores contadores) throws IOException {
+        byte[] bytes = objectMapper.writeValueAsBytes(cliente);
+        contadores.bytes += bytes.length;
+        contadores.operacoes++;
+        return bytes;
+    }
+
+    @Benchmark
+    public Cliente desserializarCliente() throws IOException {
+        return objectMapper.readValue(corpo, Cliente.class);
+    }
+}
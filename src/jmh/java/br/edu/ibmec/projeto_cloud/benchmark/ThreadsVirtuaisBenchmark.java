@@ -0,0 +1,62 @@
+package br.edu.ibmec.projeto_cloud.benchmark;
+
+import br.edu.ibmec.projeto_cloud.model.Cliente;
+import br.edu.ibmec.projeto_cloud.service.ClienteService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Vazão e latência de cauda de GET /clientes sob 256 clientes simultâneos, com o Tomcat usando
+// o pool de threads de plataforma ou threads virtuais (com o limite de admissão ligado).
+// Mode.SampleTime mostra p50/p99/p999; Mode.Throughput mostra requisições por segundo.
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(256)
+@State(Scope.Benchmark)
+public class ThreadsVirtuaisBenchmark {
+
+    @Param({"false", "true"})
+    private boolean threadsVirtuais;
+
+    private ConfigurableApplicationContext contexto;
+    private HttpClient httpClient;
+    private HttpRequest listarClientes;
+
+    @Setup
+    public void iniciar() {
+        contexto = DadosBenchmark.iniciarServidor(
+                "spring.threads.virtual.enabled=" + threadsVirtuais,
+                "spring.datasource.hikari.maximum-pool-size=20");
+
+        List<Cliente> lote = new ArrayList<>();
+        for (int i = 1; i <= 500; i++) {
+            lote.add(DadosBenchmark.cliente(i, 2));
+        }
+        contexto.getBean(ClienteService.class).salvarClientes(lote);
+
+        String porta = contexto.getEnvironment().getProperty("local.server.port");
+        httpClient = HttpClient.newHttpClient();
+        listarClientes = HttpRequest.newBuilder(URI.create("http://localhost:" + porta + "/clientes?limit=20")).build();
+    }
+
+    @TearDown
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public int listarClientes() throws IOException, InterruptedException {
+        return httpClient.send(listarClientes, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
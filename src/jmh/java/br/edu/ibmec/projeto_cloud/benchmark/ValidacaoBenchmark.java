@@ -0,0 +1,51 @@
+package br.edu.ibmec.projeto_cloud.benchmark;
+
+import br.edu.ibmec.projeto_cloud.model.Cliente;
+import br.edu.ibmec.projeto_cloud.model.Endereco;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// Custo da Bean Validation executada em cada POST/PUT (@Cpf, @Telefone e @Cep).
+// Rode com "-prof gc" para ver a alocação por operação.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidacaoBenchmark {
+
+    private ValidatorFactory factory;
+    private Validator validator;
+    private Cliente cliente;
+    private Endereco endereco;
+
+    @Setup
+    public void preparar() {
+        factory = Validation.buildDefaultValidatorFactory();
+        validator = factory.getValidator();
+        cliente = DadosBenchmark.cliente(1, 0);
+        endereco = DadosBenchmark.endereco(1);
+    }
+
+    @TearDown
+    public void encerrar() {
+        factory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<Cliente>> validarCliente() {
+        return validator.validate(cliente);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<Endereco>> validarEndereco() {
+        return validator.validate(endereco);
+    }
+}
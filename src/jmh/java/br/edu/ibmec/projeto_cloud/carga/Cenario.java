@@ -0,0 +1,49 @@
+package br.edu.ibmec.projeto_cloud.carga;
+
+// Requisições de Curl.md e o peso de cada uma na mistura do teste de carga
+public enum Cenario {
+
+    CRIAR_CLIENTE("POST /clientes", 10),
+    ATUALIZAR_CLIENTE("PUT /clientes/{id}", 5),
+    BUSCAR_CLIENTE("GET /clientes/{id}", 30),
+    LISTAR_CLIENTES("GET /clientes", 15),
+    REMOVER_CLIENTE("DELETE /clientes/{id}", 5),
+    CRIAR_ENDERECO("POST /enderecos", 10),
+    ATUALIZAR_ENDERECO("PUT /enderecos/{clienteId}/{enderecoId}", 10),
+    REMOVER_ENDERECO("DELETE /enderecos/{clienteId}/{enderecoId}", 5),
+    LISTAR_ENDERECOS("GET /enderecos/cliente/{clienteId}", 10);
+
+    private static final int PESO_TOTAL;
+
+    static {
+        int total = 0;
+        for (Cenario cenario : values()) {
+            total += cenario.peso;
+        }
+        PESO_TOTAL = total;
+    }
+
+    private final String endpoint;
+    private final int peso;
+
+    Cenario(String endpoint, int peso) {
+        this.endpoint = endpoint;
+        this.peso = peso;
+    }
+
+    // Escolhe um cenário proporcionalmente ao peso, a partir de um número em [0, 1)
+    public static Cenario sortear(double aleatorio) {
+        int alvo = (int) (aleatorio * PESO_TOTAL);
+        for (Cenario cenario : values()) {
+            alvo -= cenario.peso;
+            if (alvo < 0) {
+                return cenario;
+            }
+        }
+        return BUSCAR_CLIENTE;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+}
@@ -0,0 +1,313 @@
+package br.edu.ibmec.projeto_cloud.carga;
+
+import br.edu.ibmec.projeto_cloud.benchmark.DadosBenchmark;
+import br.edu.ibmec.projeto_cloud.validation.CpfValidator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// Teste de carga com a mistura de requisições de Curl.md.
+//
+// Por padrão sobe a aplicação com o profile "embedded" (H2 em modo MySQL, sem rede externa), cadastra
+// a massa inicial e dispara requisições a uma taxa fixa (modelo aberto). A latência é medida a partir do
+// instante em que a requisição deveria ter saído, então filas no cliente também aparecem nos percentis.
+//
+// Parâmetros (--nome=valor): concorrencia (64), taxa em req/s (200), aquecimento em s (10),
+// duracao em s (60), clientes na massa inicial (1000), url de uma instância já em execução (opcional)
+// e limite-p99-ms (opcional: encerra com código 1 se algum endpoint passar do limite).
+public class TesteCarga {
+
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String url;
+
+    // Massa inicial: usada para leituras, atualizações e novos endereços
+    private final List<ClienteCarga> clientes = new ArrayList<>();
+    private final List<long[]> enderecos = new ArrayList<>();
+
+    // Registros criados durante o teste, que são os únicos removidos
+    private final Queue<Long> clientesCriados = new ConcurrentLinkedQueue<>();
+    private final Queue<long[]> enderecosCriados = new ConcurrentLinkedQueue<>();
+
+    private final AtomicLong proximoCliente = new AtomicLong(10_000_000);
+
+    private final Map<Cenario, ConcurrentHistogram> latencias = new EnumMap<>(Cenario.class);
+    private final Map<Cenario, LongAdder> erros = new EnumMap<>(Cenario.class);
+
+    private record ClienteCarga(long id, String email, String cpf) {
+    }
+
+    // Cenário efetivamente executado: uma remoção sem registro criado vira uma criação e é medida como tal
+    private record Resultado(Cenario cenario, boolean sucesso) {
+    }
+
+    public TesteCarga(String url) {
+        this.url = url;
+        for (Cenario cenario : Cenario.values()) {
+            latencias.put(cenario, new ConcurrentHistogram(3));
+            erros.put(cenario, new LongAdder());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> parametros = lerParametros(args);
+        int concorrencia = Integer.parseInt(parametros.getOrDefault("concorrencia", "64"));
+        int taxa = Integer.parseInt(parametros.getOrDefault("taxa", "200"));
+        int aquecimento = Integer.parseInt(parametros.getOrDefault("aquecimento", "10"));
+        int duracao = Integer.parseInt(parametros.getOrDefault("duracao", "60"));
+        int massa = Integer.parseInt(parametros.getOrDefault("clientes", "1000"));
+
+        ConfigurableApplicationContext contexto = null;
+        String url = parametros.get("url");
+        if (url == null) {
+            contexto = DadosBenchmark.iniciarServidor("spring.jpa.show-sql=false");
+            url = "http://localhost:" + contexto.getEnvironment().getProperty("local.server.port");
+        }
+
+        boolean dentroDoLimite;
+        try {
+            TesteCarga teste = new TesteCarga(url);
+            teste.cadastrarMassa(massa);
+            teste.executar(concorrencia, taxa, aquecimento, duracao);
+            teste.imprimirRelatorio(duracao);
+            String limite = parametros.get("limite-p99-ms");
+            dentroDoLimite = limite == null || teste.dentroDoLimite(Double.parseDouble(limite));
+        } finally {
+            if (contexto != null) {
+                contexto.close();
+            }
+        }
+        System.exit(dentroDoLimite ? 0 : 1);
+    }
+
+    private static Map<String, String> lerParametros(String[] args) {
+        Map<String, String> parametros = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Parâmetro inválido: " + arg + " (use --nome=valor)");
+            }
+            int separador = arg.indexOf('=');
+            parametros.put(arg.substring(2, separador), arg.substring(separador + 1));
+        }
+        return parametros;
+    }
+
+    // Cadastra a massa inicial em lotes, cada cliente com dois endereços
+    public void cadastrarMassa(int quantidade) throws IOException, InterruptedException {
+        for (int inicio = 1; inicio <= quantidade; inicio += 500) {
+            StringBuilder lote = new StringBuilder("[");
+            for (int n = inicio; n < Math.min(inicio + 500, quantidade + 1); n++) {
+                if (n > inicio) {
+                    lote.append(',');
+                }
+                lote.append(jsonCliente(n, "Cliente " + n, 2));
+            }
+            lote.append(']');
+
+            HttpResponse<String> resposta = enviar("POST", "/clientes/batch", lote.toString());
+            if (resposta.statusCode() != 201) {
+                throw new IllegalStateException("Falha ao cadastrar a massa inicial: " + resposta.body());
+            }
+            for (JsonNode cliente : objectMapper.readTree(resposta.body())) {
+                long id = cliente.get("id").asLong();
+                clientes.add(new ClienteCarga(id, cliente.get("email").asText(), cliente.get("cpf").asText()));
+                for (JsonNode endereco : cliente.get("enderecos")) {
+                    enderecos.add(new long[] {id, endereco.get("id").asLong()});
+                }
+            }
+        }
+    }
+
+    public void executar(int concorrencia, int taxa, int aquecimento, int duracao) throws InterruptedException {
+        Semaphore emAndamento = new Semaphore(concorrencia);
+        long intervalo = TimeUnit.SECONDS.toNanos(1) / taxa;
+        long inicio = System.nanoTime();
+        long inicioMedicao = inicio + TimeUnit.SECONDS.toNanos(aquecimento);
+        long fim = inicioMedicao + TimeUnit.SECONDS.toNanos(duracao);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long previsto = inicio; previsto < fim; previsto += intervalo) {
+                long espera = previsto - System.nanoTime();
+                if (espera > 0) {
+                    LockSupport.parkNanos(espera);
+                }
+                emAndamento.acquire();
+
+                long saida = previsto;
+                boolean medir = previsto >= inicioMedicao;
+                Cenario cenario = Cenario.sortear(ThreadLocalRandom.current().nextDouble());
+                executor.execute(() -> {
+                    try {
+                        Resultado resultado = executarCenario(cenario);
+                        if (medir) {
+                            latencias.get(resultado.cenario()).recordValue(System.nanoTime() - saida);
+                            if (!resultado.sucesso()) {
+                                erros.get(resultado.cenario()).increment();
+                            }
+                        }
+                    } finally {
+                        emAndamento.release();
+                    }
+                });
+            }
+        }
+    }
+
+    private Resultado executarCenario(Cenario cenario) {
+        try {
+            return switch (cenario) {
+                case REMOVER_CLIENTE -> {
+                    Long id = clientesCriados.poll();
+                    yield id == null ? new Resultado(Cenario.CRIAR_CLIENTE, criarCliente())
+                            : new Resultado(cenario, sucesso(enviar("DELETE", "/clientes/" + id, null)));
+                }
+                case REMOVER_ENDERECO -> {
+                    long[] endereco = enderecosCriados.poll();
+                    yield endereco == null ? new Resultado(Cenario.CRIAR_ENDERECO, criarEndereco())
+                            : new Resultado(cenario,
+                                    sucesso(enviar("DELETE", "/enderecos/" + endereco[0] + "/" + endereco[1], null)));
+                }
+                default -> new Resultado(cenario, executarRequisicao(cenario));
+            };
+        } catch (IOException e) {
+            return new Resultado(cenario, false);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Resultado(cenario, false);
+        }
+    }
+
+    private boolean executarRequisicao(Cenario cenario) throws IOException, InterruptedException {
+        return switch (cenario) {
+            case CRIAR_CLIENTE -> criarCliente();
+            case ATUALIZAR_CLIENTE -> {
+                ClienteCarga cliente = clienteAleatorio();
+                String corpo = String.format("{\"nome\":\"Cliente Atualizado\", \"email\":\"%s\", \"cpf\":\"%s\", "
+                        + "\"telefone\":\"(21) 98888-8888\", \"dataNascimento\":\"1990-05-10\", \"enderecos\":[]}",
+                        cliente.email(), cliente.cpf());
+                yield sucesso(enviar("PUT", "/clientes/" + cliente.id(), corpo));
+            }
+            case BUSCAR_CLIENTE -> sucesso(enviar("GET", "/clientes/" + clienteAleatorio().id(), null));
+            case LISTAR_CLIENTES -> sucesso(enviar("GET", "/clientes?limit=20", null));
+            case CRIAR_ENDERECO -> criarEndereco();
+            case ATUALIZAR_ENDERECO -> {
+                long[] endereco = enderecos.get(ThreadLocalRandom.current().nextInt(enderecos.size()));
+                yield sucesso(enviar("PUT", "/enderecos/" + endereco[0] + "/" + endereco[1], jsonEndereco(null)));
+            }
+            case LISTAR_ENDERECOS -> sucesso(enviar("GET", "/enderecos/cliente/" + clienteAleatorio().id(), null));
+            case REMOVER_CLIENTE, REMOVER_ENDERECO ->
+                    throw new IllegalArgumentException("Remoções são tratadas em executarCenario: " + cenario);
+        };
+    }
+
+    private boolean criarCliente() throws IOException, InterruptedException {
+        long numero = proximoCliente.incrementAndGet();
+        HttpResponse<String> resposta = enviar("POST", "/clientes", jsonCliente(numero, "Cliente " + numero, 0));
+        if (!sucesso(resposta)) {
+            return false;
+        }
+        clientesCriados.add(objectMapper.readTree(resposta.body()).get("id").asLong());
+        return true;
+    }
+
+    private boolean criarEndereco() throws IOException, InterruptedException {
+        long clienteId = clienteAleatorio().id();
+        HttpResponse<String> resposta = enviar("POST", "/enderecos", jsonEndereco(clienteId));
+        if (!sucesso(resposta)) {
+            return false;
+        }
+        enderecosCriados.add(new long[] {clienteId, objectMapper.readTree(resposta.body()).get("id").asLong()});
+        return true;
+    }
+
+    private ClienteCarga clienteAleatorio() {
+        return clientes.get(ThreadLocalRandom.current().nextInt(clientes.size()));
+    }
+
+    private HttpResponse<String> enviar(String metodo, String caminho, String corpo)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder requisicao = HttpRequest.newBuilder(URI.create(url + caminho))
+                .timeout(Duration.ofSeconds(30));
+        if (corpo != null) {
+            requisicao.header("Content-Type", "application/json")
+                    .method(metodo, HttpRequest.BodyPublishers.ofString(corpo));
+        } else {
+            requisicao.method(metodo, HttpRequest.BodyPublishers.noBody());
+        }
+        return httpClient.send(requisicao.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static boolean sucesso(HttpResponse<?> resposta) {
+        return resposta.statusCode() < 400;
+    }
+
+    private static String jsonCliente(long numero, String nome, int quantidadeEnderecos) {
+        StringBuilder json = new StringBuilder(String.format(
+                "{\"nome\":\"%s\", \"email\":\"carga%d@gmail.com\", \"cpf\":\"%s\", \"telefone\":\"(11) 99999-9999\", "
+                        + "\"dataNascimento\":\"1990-05-10\", \"enderecos\":[",
+                nome, numero, CpfValidator.gerar(numero)));
+        for (int i = 0; i < quantidadeEnderecos; i++) {
+            json.append(i > 0 ? "," : "").append(jsonEndereco(null));
+        }
+        return json.append("]}").toString();
+    }
+
+    private static String jsonEndereco(Long clienteId) {
+        String cliente = clienteId == null ? "" : ", \"cliente\":{\"id\":" + clienteId + "}";
+        return "{\"rua\":\"Rua Exemplo\", \"numero\":\"123\", \"bairro\":\"Bairro Central\", \"cidade\":\"São Paulo\", "
+                + "\"estado\":\"SP\", \"cep\":\"12345-678\"" + cliente + "}";
+    }
+
+    public void imprimirRelatorio(int duracao) {
+        System.out.printf("%n%-45s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "Endpoint", "Requisições", "Erros", "req/s", "p50 ms", "p90 ms", "p99 ms", "p999 ms", "máx ms");
+        for (Cenario cenario : Cenario.values()) {
+            ConcurrentHistogram histograma = latencias.get(cenario);
+            long total = histograma.getTotalCount();
+            System.out.printf("%-45s %11d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    cenario.getEndpoint(), total, erros.get(cenario).sum(), (double) total / duracao,
+                    ms(histograma.getValueAtPercentile(50)), ms(histograma.getValueAtPercentile(90)),
+                    ms(histograma.getValueAtPercentile(99)), ms(histograma.getValueAtPercentile(99.9)),
+                    ms(histograma.getMaxValue()));
+        }
+    }
+
+    public boolean dentroDoLimite(double limiteP99Ms) {
+        boolean dentro = true;
+        for (Cenario cenario : Cenario.values()) {
+            double p99 = ms(latencias.get(cenario).getValueAtPercentile(99));
+            if (p99 > limiteP99Ms) {
+                System.out.printf("%s: p99 de %.2f ms acima do limite de %.2f ms%n", cenario.getEndpoint(), p99, limiteP99Ms);
+                dentro = false;
+            }
+        }
+        return dentro;
+    }
+
+    private static double ms(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
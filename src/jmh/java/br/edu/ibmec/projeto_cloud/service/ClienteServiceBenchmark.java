@@ -0,0 +1,81 @@
+package br.edu.ibmec.projeto_cloud.service;
+
+import br.edu.ibmec.projeto_cloud.benchmark.DadosBenchmark;
+import br.edu.ibmec.projeto_cloud.dto.Pagina;
+import br.edu.ibmec.projeto_cloud.model.Cliente;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Métodos do ClienteService contra o banco H2 em memória (profile "embedded").
+// Fica no pacote do serviço para medir validarIdade, que não é público.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ClienteServiceBenchmark {
+
+    private static final LocalDate NASCIMENTO = LocalDate.of(1990, 5, 10);
+
+    @Param("1000")
+    private int clientes;
+
+    private ConfigurableApplicationContext contexto;
+    private ClienteService clienteService;
+    private long[] ids;
+
+    // Numeração dos clientes criados durante a medição, longe da faixa da carga inicial
+    private final AtomicLong proximoCliente = new AtomicLong(1_000_000);
+
+    @Setup
+    public void iniciar() {
+        contexto = DadosBenchmark.iniciarAplicacao();
+        clienteService = contexto.getBean(ClienteService.class);
+
+        ids = new long[clientes];
+        int carregados = 0;
+        while (carregados < clientes) {
+            List<Cliente> lote = new ArrayList<>();
+            for (int i = 0; i < Math.min(500, clientes - carregados); i++) {
+                lote.add(DadosBenchmark.cliente(carregados + i + 1, 3));
+            }
+            for (Cliente cliente : clienteService.salvarClientes(lote)) {
+                ids[carregados++] = cliente.getId();
+            }
+        }
+    }
+
+    @TearDown
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public void validarIdade() {
+        clienteService.validarIdade(NASCIMENTO);
+    }
+
+    @Benchmark
+    public Optional<Cliente> buscarClientePorId() {
+        return clienteService.buscarClientePorId(ids[ThreadLocalRandom.current().nextInt(ids.length)]);
+    }
+
+    @Benchmark
+    public Pagina<Cliente> listarPrimeiraPagina() {
+        return clienteService.listarClientes(null, 20);
+    }
+
+    @Benchmark
+    public Cliente salvarCliente() {
+        return clienteService.salvarCliente(DadosBenchmark.cliente(proximoCliente.incrementAndGet(), 0));
+    }
+}
@@ -0,0 +1,78 @@
+package br.edu.ibmec.projeto_cloud.config;
+
+import br.edu.ibmec.projeto_cloud.util.GeracoesPorChave;
+import org.springframework.cache.Cache;
+
+import java.util.concurrent.Callable;
+
+// Cache que avança a geração da chave (GeracoesPorChave) antes de cada descarte. Fica por baixo do
+// decorador ciente de transação, então a geração só avança quando o descarte é aplicado, após o commit.
+class CacheComGeracoes implements Cache {
+
+    private final Cache cache;
+    private final GeracoesPorChave geracoes;
+
+    CacheComGeracoes(Cache cache, GeracoesPorChave geracoes) {
+        this.cache = cache;
+        this.geracoes = geracoes;
+    }
+
+    @Override
+    public String getName() {
+        return cache.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return cache.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return cache.get(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return cache.get(key, type);
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return cache.get(key, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        cache.put(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return cache.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        geracoes.avancar(key);
+        cache.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        geracoes.avancar(key);
+        return cache.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        geracoes.avancarTodas();
+        cache.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        geracoes.avancarTodas();
+        return cache.invalidate();
+    }
+}
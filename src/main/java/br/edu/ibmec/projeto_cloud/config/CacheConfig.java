@@ -0,0 +1,58 @@
+package br.edu.ibmec.projeto_cloud.config;
+
+import br.edu.ibmec.projeto_cloud.util.GeracoesPorChave;
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+// Habilita os caches da aplicação. O tamanho máximo e o TTL do Caffeine e os nomes dos caches
+// ficam em spring.cache.* no application.properties.
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+
+    // Clientes por ID (cópias imutáveis), usados por GET /clientes/{id}
+    public static final String CLIENTES = "clientes";
+
+    // Endereços de cada cliente (cópias imutáveis), usados por GET /enderecos/cliente/{clienteId}
+    public static final String ENDERECOS_POR_CLIENTE = "enderecosPorCliente";
+
+    // Mesma configuração que o Spring Boot daria ao Caffeine (spring.cache.cache-names e
+    // spring.cache.caffeine.spec), mas com os caches cientes de transação. Dentro de uma transação, evict e put
+    // só são aplicados depois do commit. Descartando antes, uma busca concorrente que errasse o cache ainda
+    // leria a linha antiga (a escrita não foi confirmada) e a guardaria de novo até expirar. O cache de
+    // clientes também avança a geração da chave a cada descarte, para que ClienteService não guarde uma carga
+    // que começou antes dele.
+    @Bean
+    public CacheManager cacheManager(CacheProperties propriedades, GeracoesPorChave geracoesClientes) {
+        CaffeineCacheManager caffeine = new CaffeineCacheManager() {
+            @Override
+            protected Cache adaptCaffeineCache(String nome,
+                    com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                Cache adaptado = super.adaptCaffeineCache(nome, cache);
+                return CLIENTES.equals(nome) ? new CacheComGeracoes(adaptado, geracoesClientes) : adaptado;
+            }
+        };
+        if (StringUtils.hasText(propriedades.getCaffeine().getSpec())) {
+            caffeine.setCacheSpecification(propriedades.getCaffeine().getSpec());
+        }
+        if (!propriedades.getCacheNames().isEmpty()) {
+            caffeine.setCacheNames(propriedades.getCacheNames());
+        }
+        return new TransactionAwareCacheManagerProxy(caffeine);
+    }
+
+    // Gerações das chaves do cache de clientes
+    @Bean
+    public GeracoesPorChave geracoesClientes() {
+        return new GeracoesPorChave();
+    }
+}
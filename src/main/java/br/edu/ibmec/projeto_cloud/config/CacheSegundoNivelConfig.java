@@ -0,0 +1,37 @@
+package br.edu.ibmec.projeto_cloud.config;
+
+import br.edu.ibmec.projeto_cloud.model.Cliente;
+import br.edu.ibmec.projeto_cloud.model.Endereco;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// O que entra no cache de segundo nível do Hibernate, sem @Cache nas entidades. clientes.cache.segundo-nivel
+// liga o cache e o de consultas; clientes.cache.segundo-nivel.* escolhe cada entidade e coleção
+// (hibernate.classcache.* e hibernate.collectioncache.*), todas com a estratégia read-write.
+@Configuration
+public class CacheSegundoNivelConfig {
+
+    private static final String ESTRATEGIA = "read-write";
+
+    @Bean
+    public HibernatePropertiesCustomizer regioesSegundoNivel(
+            @Value("${clientes.cache.segundo-nivel.cliente:true}") boolean cliente,
+            @Value("${clientes.cache.segundo-nivel.endereco:true}") boolean endereco,
+            @Value("${clientes.cache.segundo-nivel.enderecos-do-cliente:true}") boolean enderecosDoCliente) {
+        return propriedades -> {
+            if (cliente) {
+                propriedades.put(AvailableSettings.CLASS_CACHE_PREFIX + "." + Cliente.class.getName(), ESTRATEGIA);
+            }
+            if (endereco) {
+                propriedades.put(AvailableSettings.CLASS_CACHE_PREFIX + "." + Endereco.class.getName(), ESTRATEGIA);
+            }
+            if (enderecosDoCliente) {
+                propriedades.put(AvailableSettings.COLLECTION_CACHE_PREFIX + "." + Cliente.class.getName()
+                        + ".enderecos", ESTRATEGIA);
+            }
+        };
+    }
+}
@@ -0,0 +1,78 @@
+package br.edu.ibmec.projeto_cloud.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+
+// Garante que quem acabou de escrever lê o que escreveu, apesar do atraso de replicação. Uma escrita
+// (POST, PUT, PATCH ou DELETE) usa só o primário e devolve o cookie clientes-escrita; pelos
+// clientes.replica.janela-ms seguintes, as requisições com esse cookie também leem do primário.
+@Component
+@ConditionalOnProperty(name = "clientes.replica.url")
+public class LeituraAposEscritaFilter extends OncePerRequestFilter {
+
+    static final String COOKIE = "clientes-escrita";
+
+    private static final Set<String> METODOS_DE_ESCRITA = Set.of("POST", "PUT", "PATCH", "DELETE");
+
+    private final long janelaMs;
+
+    public LeituraAposEscritaFilter(@Value("${clientes.replica.janela-ms:5000}") long janelaMs) {
+        this.janelaMs = janelaMs;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long agora = System.currentTimeMillis();
+        boolean escrita = METODOS_DE_ESCRITA.contains(request.getMethod());
+        if (escrita) {
+            // O cookie vai antes do corpo, enquanto a resposta ainda não foi enviada
+            response.addCookie(cookie(agora + janelaMs));
+        }
+
+        if (escrita || escreveuRecentemente(request, agora)) {
+            RoteadorDataSource.exigirPrimario();
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RoteadorDataSource.liberar();
+        }
+    }
+
+    // O valor do cookie é o instante (epoch em ms) até quando as leituras devem ir ao primário
+    private boolean escreveuRecentemente(HttpServletRequest request, long agora) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return false;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue()) > agora;
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+
+    private Cookie cookie(long primarioAte) {
+        Cookie cookie = new Cookie(COOKIE, Long.toString(primarioAte));
+        cookie.setPath("/");
+        cookie.setHttpOnly(true);
+        cookie.setMaxAge((int) Math.max(1, (janelaMs + 999) / 1000));
+        return cookie;
+    }
+}
@@ -0,0 +1,72 @@
+package br.edu.ibmec.projeto_cloud.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+// Com threads virtuais o Tomcat deixa de limitar quantas requisições rodam ao mesmo tempo. Este filtro
+// devolve esse limite: no máximo clientes.admissao.limite requisições em andamento (por padrão o tamanho
+// do pool de conexões). As demais esperam até clientes.admissao.espera-ms e, depois disso, recebem 503.
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class LimiteAdmissaoFilter extends OncePerRequestFilter {
+
+    private final Semaphore permissoes;
+    private final long esperaMs;
+    private final Counter rejeitadas;
+
+    public LimiteAdmissaoFilter(
+            @Value("${clientes.admissao.limite:${spring.datasource.hikari.maximum-pool-size:10}}") int limite,
+            @Value("${clientes.admissao.espera-ms:500}") long esperaMs,
+            MeterRegistry meterRegistry) {
+        this.permissoes = new Semaphore(limite, true);
+        this.esperaMs = esperaMs;
+        this.rejeitadas = Counter.builder("http.server.requests.rejeitadas")
+                .description("Requisições recusadas pelo limite de admissão")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // Health check e scrape de métricas não disputam as permissões
+        return request.getRequestURI().startsWith(request.getContextPath() + "/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean admitida;
+        try {
+            admitida = permissoes.tryAcquire(esperaMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            admitida = false;
+        }
+
+        if (!admitida) {
+            rejeitadas.increment();
+            response.setHeader("Retry-After", "1");
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Servidor sobrecarregado, tente novamente.");
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permissoes.release();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package br.edu.ibmec.projeto_cloud.config;
+
+import br.edu.ibmec.projeto_cloud.metricas.ContadorCargaEntidades;
+import br.edu.ibmec.projeto_cloud.metricas.MetricasRequisicaoInterceptor;
+import br.edu.ibmec.projeto_cloud.metricas.OuvinteSessaoHibernate;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+// Métricas de acesso ao banco por requisição. Latência, contagem e erros por endpoint já vêm do
+// http.server.requests do Actuator; os percentis ficam em management.metrics.* no application.properties.
+@Configuration
+public class MetricasConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private ObjectProvider<MeterRegistry> meterRegistry;
+
+    // Liga os contadores de comandos SQL e de entidades carregadas a todas as sessões do Hibernate
+    @Bean
+    public HibernatePropertiesCustomizer contadoresHibernate() {
+        return propriedades -> {
+            propriedades.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, OuvinteSessaoHibernate.class.getName());
+            propriedades.put(AvailableSettings.INTERCEPTOR, new ContadorCargaEntidades());
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new MetricasRequisicaoInterceptor(meterRegistry));
+    }
+}
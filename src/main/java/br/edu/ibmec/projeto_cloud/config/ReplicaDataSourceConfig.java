@@ -0,0 +1,60 @@
+package br.edu.ibmec.projeto_cloud.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+// Réplica de leitura, ligada quando clientes.replica.url está definida. O primário continua em
+// spring.datasource.* e a réplica usa clientes.replica.* (pool em clientes.replica.hikari.*).
+// Sem a propriedade, a aplicação usa só o DataSource configurado pelo Spring Boot. A conexão é devolvida ao
+// fim de cada transação (hibernate.connection.handling_mode no application.properties), então cada transação
+// da requisição escolhe o seu banco.
+@Configuration
+@ConditionalOnProperty(name = "clientes.replica.url")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSourcePrimario(DataSourceProperties propriedades) {
+        HikariDataSource dataSource = propriedades.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primario");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("clientes.replica.hikari")
+    public HikariDataSource dataSourceReplica(
+            @Value("${clientes.replica.url}") String url,
+            @Value("${clientes.replica.username:${spring.datasource.username:}}") String usuario,
+            @Value("${clientes.replica.password:${spring.datasource.password:}}") String senha) {
+        HikariDataSource dataSource = DataSourceBuilder.create().type(HikariDataSource.class)
+                .url(url).username(usuario).password(senha).build();
+        dataSource.setPoolName("replica");
+        return dataSource;
+    }
+
+    // DataSource usado pelo JPA: a conexão real só é obtida no primeiro comando e o roteador escolhe o banco
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("dataSourcePrimario") DataSource primario,
+            @Qualifier("dataSourceReplica") DataSource replica) {
+        RoteadorDataSource roteador = new RoteadorDataSource();
+        roteador.setTargetDataSources(Map.of(
+                RoteadorDataSource.Destino.PRIMARIO, primario,
+                RoteadorDataSource.Destino.REPLICA, replica));
+        roteador.setDefaultTargetDataSource(primario);
+        roteador.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(roteador);
+    }
+}
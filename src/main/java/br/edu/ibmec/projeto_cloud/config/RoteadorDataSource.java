@@ -0,0 +1,54 @@
+package br.edu.ibmec.projeto_cloud.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Supplier;
+
+// Escolhe o banco de cada conexão: transações somente leitura vão para a réplica e todo o restante
+// (escritas e acessos fora de transação) vai para o primário. Deve ficar atrás de um
+// LazyConnectionDataSourceProxy, para que a escolha aconteça no primeiro comando SQL, quando a
+// transação já foi marcada como somente leitura.
+public class RoteadorDataSource extends AbstractRoutingDataSource {
+
+    public enum Destino {
+        PRIMARIO, REPLICA
+    }
+
+    // Requisições que acabaram de escrever leem do primário, que já tem a escrita (ler o que escreveu)
+    private static final ThreadLocal<Boolean> PRIMARIO_OBRIGATORIO = new ThreadLocal<>();
+
+    public static void exigirPrimario() {
+        PRIMARIO_OBRIGATORIO.set(Boolean.TRUE);
+    }
+
+    public static void liberar() {
+        PRIMARIO_OBRIGATORIO.remove();
+    }
+
+    // Executa a carga no primário mesmo em transação somente leitura. Usado pelas cargas que preenchem os
+    // caches da aplicação: uma linha antiga lida da réplica logo após uma escrita ficaria no cache até expirar.
+    public static <T> T executarNoPrimario(Supplier<T> carga) {
+        boolean jaExigido = PRIMARIO_OBRIGATORIO.get() != null;
+        PRIMARIO_OBRIGATORIO.set(Boolean.TRUE);
+        try {
+            return carga.get();
+        } finally {
+            if (!jaExigido) {
+                PRIMARIO_OBRIGATORIO.remove();
+            }
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return destinoAtual();
+    }
+
+    static Destino destinoAtual() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && PRIMARIO_OBRIGATORIO.get() == null) {
+            return Destino.REPLICA;
+        }
+        return Destino.PRIMARIO;
+    }
+}
@@ -2,14 +2,26 @@ package br.edu.ibmec.projeto_cloud.controller;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 
 import br.edu.ibmec.projeto_cloud.service.ClienteService;
+import br.edu.ibmec.projeto_cloud.dto.ClientePatch;
+import br.edu.ibmec.projeto_cloud.dto.ClienteResumo;
+import br.edu.ibmec.projeto_cloud.dto.ItemCliente;
+import br.edu.ibmec.projeto_cloud.dto.Pagina;
+import br.edu.ibmec.projeto_cloud.exception.RequisicaoInvalidaException;
 import br.edu.ibmec.projeto_cloud.model.Cliente;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/clientes")
@@ -25,6 +37,13 @@ public class ClienteController {
         return ResponseEntity.status(HttpStatus.CREATED).body(novoCliente);
     }
 
+    // Endpoint para adicionar vários clientes em lote (cada item é validado)
+    @PostMapping("/batch")
+    public ResponseEntity<List<Cliente>> adicionarClientes(@RequestBody List<@Valid Cliente> clientes) {
+        List<Cliente> novosClientes = clienteService.salvarClientes(clientes);
+        return ResponseEntity.status(HttpStatus.CREATED).body(novosClientes);
+    }
+
     // Endpoint para atualizar um cliente existente
     @PutMapping("/{id}")
     public ResponseEntity<Cliente> atualizarCliente(@PathVariable Long id, @Valid @RequestBody Cliente cliente) {
@@ -32,24 +51,110 @@ public class ClienteController {
         return ResponseEntity.ok(clienteAtualizado);
     }
 
-    // Endpoint para listar todos os clientes
+    // Endpoint para alterar apenas os campos enviados de um cliente. Com If-Match (ETag do GET), a alteração
+    // só é aplicada se o cliente não mudou desde então; caso contrário a resposta é 409 Conflict.
+    @PatchMapping("/{id}")
+    public ResponseEntity<Cliente> atualizarClienteParcialmente(
+        @PathVariable Long id,
+        @Valid @RequestBody ClientePatch alteracoes,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+        ServletWebRequest request) {
+
+        Cliente clienteAtualizado = clienteService.atualizarParcialmente(id, alteracoes, versaoEsperada(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(EtagPorFormato.etag(clienteAtualizado.getVersao(), request))
+                .body(clienteAtualizado);
+    }
+
+    // Endpoint para listar os clientes paginados por cursor
     @GetMapping
-    public List<Cliente> listarClientes() {
-        return clienteService.listarClientes();
+    public Pagina<Cliente> listarClientes(
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "20") int limit) {
+
+        return clienteService.listarClientes(cursor, limit);
     }
 
-    // Endpoint para buscar um cliente pelo ID
+    // Endpoint para listar só os campos pedidos dos clientes (GET /clientes?fields=nome,email), paginados por cursor
+    @GetMapping(params = {"fields", "!ids"})
+    public Pagina<Map<String, Object>> listarCamposDosClientes(
+        @RequestParam String fields,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "20") int limit) {
+
+        return clienteService.listarCampos(fields, cursor, limit);
+    }
+
+    // Endpoint para buscar vários clientes de uma vez (GET /clientes?ids=1,2,3), na ordem pedida
+    @GetMapping(params = "ids")
+    public List<ItemCliente> buscarClientesPorIds(@RequestParam List<Long> ids) {
+        return clienteService.buscarClientesPorIds(ids);
+    }
+
+    // Endpoint para listar só os dados do cliente, sem endereços, paginados por cursor
+    @GetMapping("/resumo")
+    public Pagina<ClienteResumo> listarResumos(
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "20") int limit) {
+
+        return clienteService.listarResumos(cursor, limit);
+    }
+
+    // Endpoint para exportar todos os clientes com seus endereços em NDJSON (streaming)
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void exportarClientes(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        clienteService.exportarClientes(response.getOutputStream());
+    }
+
+    // Endpoint para buscar um cliente pelo ID. A resposta leva a versão do cliente como ETag (uma por formato,
+    // EtagPorFormato); com If-None-Match igual à versão atual devolve 304 consultando só a versão, sem carregar
+    // nem serializar o cliente.
     @GetMapping("/{id}")
-    public ResponseEntity<Cliente> buscarClientePorId(@PathVariable Long id) {
+    public ResponseEntity<Cliente> buscarClientePorId(@PathVariable Long id, ServletWebRequest request) {
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            Optional<Long> versao = clienteService.buscarVersao(id);
+            if (versao.isPresent() && request.checkNotModified(EtagPorFormato.etag(versao.get(), request))) {
+                return null;
+            }
+        }
         return clienteService.buscarClientePorId(id)
-                .map(cliente -> ResponseEntity.ok(cliente))
+                .map(cliente -> ResponseEntity.ok()
+                        .eTag(EtagPorFormato.etag(cliente.getVersao(), request))
+                        .body(cliente))
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    // Endpoint para buscar só os campos pedidos de um cliente (GET /clientes/{id}?fields=nome,email)
+    @GetMapping(value = "/{id}", params = "fields")
+    public ResponseEntity<Map<String, Object>> buscarCamposDoCliente(@PathVariable Long id, @RequestParam String fields) {
+        return ResponseEntity.of(clienteService.buscarCamposPorId(id, fields));
+    }
+
     // Endpoint para remover um cliente
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> removerCliente(@PathVariable Long id) {
         clienteService.removerCliente(id);
         return ResponseEntity.noContent().build();
     }
+
+    // Endpoint para remover vários clientes e seus endereços de uma vez (DELETE /clientes?ids=1,2,3)
+    @DeleteMapping(params = "ids")
+    public ResponseEntity<Void> removerClientes(@RequestParam List<Long> ids) {
+        clienteService.removerClientes(ids);
+        return ResponseEntity.noContent().build();
+    }
+
+    // Converte o If-Match ("3", W/"3" ou "3-smile") na versão esperada; ausente ou "*" significa qualquer versão
+    private static Long versaoEsperada(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        try {
+            return EtagPorFormato.versao(ifMatch);
+        } catch (NumberFormatException e) {
+            throw new RequisicaoInvalidaException("If-Match inválido: " + ifMatch);
+        }
+    }
 }
@@ -4,12 +4,14 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import jakarta.validation.Valid;
 
 import br.edu.ibmec.projeto_cloud.service.EnderecoService;
 import br.edu.ibmec.projeto_cloud.model.Endereco;
 
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/enderecos")
@@ -32,10 +34,19 @@ public class EnderecoController {
         return ResponseEntity.noContent().build();
     }
 
-    // Endpoint para listar endereços associados a um cliente
+    // Endpoint para listar endereços associados a um cliente. A ETag é a versão do cliente (uma por formato,
+    // EtagPorFormato), lida antes da lista: com If-None-Match igual a ela devolve 304 sem carregar os endereços.
     @GetMapping("/cliente/{clienteId}")
-    public List<Endereco> listarEnderecosPorCliente(@PathVariable Long clienteId) {
-        return enderecoService.listarEnderecosPorCliente(clienteId);
+    public ResponseEntity<List<Endereco>> listarEnderecosPorCliente(@PathVariable Long clienteId,
+            ServletWebRequest request) {
+        Optional<Long> versao = enderecoService.buscarVersaoDosEnderecos(clienteId);
+        if (versao.isPresent() && request.checkNotModified(EtagPorFormato.etag(versao.get(), request))) {
+            return null;
+        }
+
+        List<Endereco> enderecos = enderecoService.listarEnderecosPorCliente(clienteId);
+        return versao.map(v -> ResponseEntity.ok().eTag(EtagPorFormato.etag(v, request)).body(enderecos))
+                .orElse(ResponseEntity.ok(enderecos));
     }
 
     // Endpoint para Atualizar um endereço específico
@@ -58,6 +69,4 @@ public class EnderecoController {
         enderecoService.removerEnderecoPorCliente(clienteId, enderecoId);
         return ResponseEntity.noContent().build();
     }
-
-
 }
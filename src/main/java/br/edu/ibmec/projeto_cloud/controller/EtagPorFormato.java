@@ -0,0 +1,69 @@
+package br.edu.ibmec.projeto_cloud.controller;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.util.List;
+
+// ETag das respostas que levam a versão do cliente. O mesmo cliente em JSON, Smile e CBOR tem corpos
+// diferentes, então cada formato tem a sua ETag ("3", "3-smile", "3-cbor") e a resposta leva Vary: Accept,
+// para que um cache no caminho não entregue um formato a quem pediu outro.
+final class EtagPorFormato {
+
+    // Na ordem dos conversores do Spring MVC: sem Accept, ou com */*, a resposta sai em JSON
+    private static final List<MediaType> FORMATOS = List.of(MediaType.APPLICATION_JSON,
+            MediaType.parseMediaType("application/x-jackson-smile"), MediaType.APPLICATION_CBOR);
+    private static final List<String> SUFIXOS = List.of("", "-smile", "-cbor");
+
+    private EtagPorFormato() {
+    }
+
+    // ETag da versão no formato pedido pelo Accept; também acrescenta Vary: Accept à resposta
+    static String etag(Long versao, ServletWebRequest request) {
+        HttpServletResponse response = request.getResponse();
+        if (response != null && !response.getHeaders(HttpHeaders.VARY).contains(HttpHeaders.ACCEPT)) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        }
+        return "\"" + versao + sufixo(request.getHeader(HttpHeaders.ACCEPT)) + "\"";
+    }
+
+    // Sufixo do formato que a negociação de conteúdo escolhe para o Accept; um Accept inválido ou sem
+    // formato compatível dá 406 antes de a ETag ser usada
+    static String sufixo(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return "";
+        }
+        List<MediaType> aceitos;
+        try {
+            aceitos = MediaType.parseMediaTypes(accept);
+            MimeTypeUtils.sortBySpecificity(aceitos);
+        } catch (IllegalArgumentException e) {
+            return "";
+        }
+        for (MediaType aceito : aceitos) {
+            if (aceito.getQualityValue() == 0) {
+                continue;
+            }
+            for (int i = 0; i < FORMATOS.size(); i++) {
+                if (aceito.isCompatibleWith(FORMATOS.get(i))) {
+                    return SUFIXOS.get(i);
+                }
+            }
+        }
+        return "";
+    }
+
+    // Versão contida em uma ETag ("3", W/"3" ou "3-smile"); lança NumberFormatException se não for uma versão
+    static Long versao(String etag) {
+        String valor = etag.trim();
+        if (valor.startsWith("W/")) {
+            valor = valor.substring(2);
+        }
+        valor = valor.replace("\"", "");
+        int sufixo = valor.indexOf('-');
+        return Long.valueOf(sufixo > 0 ? valor.substring(0, sufixo) : valor);
+    }
+}
@@ -0,0 +1,42 @@
+package br.edu.ibmec.projeto_cloud.controller;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import br.edu.ibmec.projeto_cloud.exception.EnderecoNaoPertenceAoClienteException;
+import br.edu.ibmec.projeto_cloud.exception.RequisicaoInvalidaException;
+import jakarta.persistence.EntityNotFoundException;
+
+// Converte as exceções dos serviços nas respostas HTTP correspondentes
+@RestControllerAdvice
+public class RestExceptionHandler {
+
+    // Recurso inexistente (inclusive ClienteNaoEncontradoException): 404 Not Found
+    @ExceptionHandler(EntityNotFoundException.class)
+    public ProblemDetail tratarNaoEncontrado(EntityNotFoundException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.NOT_FOUND, e.getMessage());
+    }
+
+    // Endereço de outro cliente: 403 Forbidden
+    @ExceptionHandler(EnderecoNaoPertenceAoClienteException.class)
+    public ProblemDetail tratarEnderecoDeOutroCliente(EnderecoNaoPertenceAoClienteException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.FORBIDDEN, e.getMessage());
+    }
+
+    // Versão informada desatualizada ou alteração concorrente: 409 Conflict
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ProblemDetail tratarConflitoDeVersao(OptimisticLockingFailureException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT,
+                "O registro foi alterado por outra requisição. Busque a versão atual e tente novamente.");
+    }
+
+    // Regras de negócio ou limites da API violados: 400 Bad Request. Outras IllegalArgumentException são
+    // falhas da aplicação e continuam como 500.
+    @ExceptionHandler(RequisicaoInvalidaException.class)
+    public ProblemDetail tratarRequisicaoInvalida(RequisicaoInvalidaException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, e.getMessage());
+    }
+}
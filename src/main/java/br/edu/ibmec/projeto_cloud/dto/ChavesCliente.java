@@ -0,0 +1,9 @@
+package br.edu.ibmec.projeto_cloud.dto;
+
+// Projeção com as chaves únicas de um cliente (email e CPF), usada nas verificações de unicidade
+public interface ChavesCliente {
+
+    String getEmail();
+
+    String getCpf();
+}
@@ -0,0 +1,50 @@
+package br.edu.ibmec.projeto_cloud.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import br.edu.ibmec.projeto_cloud.model.Cliente;
+import br.edu.ibmec.projeto_cloud.model.Endereco;
+
+// Cópia imutável de um cliente com os endereços, sem proxies nem estado do Hibernate. Usada no cache de
+// clientes por ID: cada busca recebe um Cliente novo, e alterá-lo não muda o que está em cache.
+public record ClienteEmCache(
+        Long id,
+        Long versao,
+        String nome,
+        String email,
+        String cpf,
+        LocalDate dataNascimento,
+        String telefone,
+        List<EnderecoResumo> enderecos) {
+
+    public static ClienteEmCache de(Cliente cliente) {
+        return new ClienteEmCache(
+                cliente.getId(),
+                cliente.getVersao(),
+                cliente.getNome(),
+                cliente.getEmail(),
+                cliente.getCpf(),
+                cliente.getDataNascimento(),
+                cliente.getTelefone(),
+                cliente.getEnderecos().stream().map(EnderecoResumo::de).toList());
+    }
+
+    // Cria um Cliente desanexado com os mesmos dados e endereços ligados a ele
+    public Cliente paraCliente() {
+        Cliente cliente = new Cliente();
+        cliente.setId(id);
+        cliente.setVersao(versao);
+        cliente.setNome(nome);
+        cliente.setEmail(email);
+        cliente.setCpf(cpf);
+        cliente.setDataNascimento(dataNascimento);
+        cliente.setTelefone(telefone);
+        for (EnderecoResumo resumo : enderecos) {
+            Endereco endereco = resumo.paraEndereco();
+            endereco.setCliente(cliente);
+            cliente.getEnderecos().add(endereco);
+        }
+        return cliente;
+    }
+}
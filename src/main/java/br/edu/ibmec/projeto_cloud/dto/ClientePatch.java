@@ -0,0 +1,19 @@
+package br.edu.ibmec.projeto_cloud.dto;
+
+import java.time.LocalDate;
+
+import br.edu.ibmec.projeto_cloud.validation.Cpf;
+import br.edu.ibmec.projeto_cloud.validation.Telefone;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Past;
+import jakarta.validation.constraints.Size;
+
+// Corpo de PATCH /clientes/{id}: só os campos informados (não nulos) são alterados.
+// As validações são as mesmas de Cliente, exceto a obrigatoriedade.
+public record ClientePatch(
+        @Size(min = 3, max = 100) String nome,
+        @Email String email,
+        @Cpf String cpf,
+        @Telefone String telefone,
+        @Past LocalDate dataNascimento) {
+}
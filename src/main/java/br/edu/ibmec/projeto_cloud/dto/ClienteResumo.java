@@ -0,0 +1,14 @@
+package br.edu.ibmec.projeto_cloud.dto;
+
+import java.time.LocalDate;
+
+// Dados escalares de um cliente, lidos direto da consulta (sem entidade gerenciada nem endereços).
+// Usado na listagem resumida GET /clientes/resumo.
+public record ClienteResumo(
+        Long id,
+        String nome,
+        String email,
+        String cpf,
+        String telefone,
+        LocalDate dataNascimento) {
+}
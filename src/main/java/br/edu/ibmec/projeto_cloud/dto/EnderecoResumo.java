@@ -0,0 +1,46 @@
+package br.edu.ibmec.projeto_cloud.dto;
+
+import br.edu.ibmec.projeto_cloud.model.Cliente;
+import br.edu.ibmec.projeto_cloud.model.Endereco;
+
+// Cópia imutável e compacta de um endereço: só os campos do endereço e o ID do cliente,
+// sem proxies nem estado do Hibernate. Usada no cache de endereços por cliente.
+public record EnderecoResumo(
+        Long id,
+        String rua,
+        String numero,
+        String bairro,
+        String cidade,
+        String estado,
+        String cep,
+        Long clienteId) {
+
+    public static EnderecoResumo de(Endereco endereco) {
+        return new EnderecoResumo(
+                endereco.getId(),
+                endereco.getRua(),
+                endereco.getNumero(),
+                endereco.getBairro(),
+                endereco.getCidade(),
+                endereco.getEstado(),
+                endereco.getCep(),
+                endereco.getCliente() != null ? endereco.getCliente().getId() : null);
+    }
+
+    // Cria um Endereco desanexado com os mesmos dados (o cliente vem apenas com o ID)
+    public Endereco paraEndereco() {
+        Endereco endereco = new Endereco();
+        endereco.setId(id);
+        endereco.setRua(rua);
+        endereco.setNumero(numero);
+        endereco.setBairro(bairro);
+        endereco.setCidade(cidade);
+        endereco.setEstado(estado);
+        endereco.setCep(cep);
+
+        Cliente cliente = new Cliente();
+        cliente.setId(clienteId);
+        endereco.setCliente(cliente);
+        return endereco;
+    }
+}
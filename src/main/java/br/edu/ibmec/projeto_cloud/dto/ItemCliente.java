@@ -0,0 +1,15 @@
+package br.edu.ibmec.projeto_cloud.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import br.edu.ibmec.projeto_cloud.model.Cliente;
+
+// Um item da busca de vários clientes (GET /clientes?ids=...): o ID pedido, se foi encontrado e o cliente.
+// IDs inexistentes aparecem como {"id": 9, "encontrado": false}.
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ItemCliente(Long id, boolean encontrado, Cliente cliente) {
+
+    public static ItemCliente de(Long id, Cliente cliente) {
+        return new ItemCliente(id, cliente != null, cliente);
+    }
+}
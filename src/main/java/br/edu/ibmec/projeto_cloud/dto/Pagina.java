@@ -0,0 +1,8 @@
+package br.edu.ibmec.projeto_cloud.dto;
+
+import java.util.List;
+
+// Página de resultados paginados por cursor (keyset).
+// "next" é o cursor opaco da próxima página, ou null quando não há mais itens.
+public record Pagina<T>(List<T> itens, String next) {
+}
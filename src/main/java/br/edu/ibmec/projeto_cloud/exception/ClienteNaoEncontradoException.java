@@ -0,0 +1,11 @@
+package br.edu.ibmec.projeto_cloud.exception;
+
+import jakarta.persistence.EntityNotFoundException;
+
+// Lançada quando o cliente informado não existe (devolvida como 404)
+public class ClienteNaoEncontradoException extends EntityNotFoundException {
+
+    public ClienteNaoEncontradoException() {
+        super("Cliente não encontrado");
+    }
+}
@@ -0,0 +1,9 @@
+package br.edu.ibmec.projeto_cloud.exception;
+
+// Lançada quando o endereço existe, mas está associado a outro cliente
+public class EnderecoNaoPertenceAoClienteException extends IllegalArgumentException {
+
+    public EnderecoNaoPertenceAoClienteException() {
+        super("Endereço não pertence ao cliente informado.");
+    }
+}
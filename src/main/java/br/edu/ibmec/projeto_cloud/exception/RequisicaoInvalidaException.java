@@ -0,0 +1,9 @@
+package br.edu.ibmec.projeto_cloud.exception;
+
+// Lançada quando os dados enviados violam uma regra de negócio ou um limite da API (devolvida como 400)
+public class RequisicaoInvalidaException extends IllegalArgumentException {
+
+    public RequisicaoInvalidaException(String mensagem) {
+        super(mensagem);
+    }
+}
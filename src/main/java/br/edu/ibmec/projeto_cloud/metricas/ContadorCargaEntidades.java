@@ -0,0 +1,14 @@
+package br.edu.ibmec.projeto_cloud.metricas;
+
+import org.hibernate.Interceptor;
+import org.hibernate.type.Type;
+
+// Conta as entidades materializadas pelo Hibernate; um valor alto por requisição indica N+1
+public class ContadorCargaEntidades implements Interceptor {
+
+    @Override
+    public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+        EstatisticasRequisicao.registrarEntidadeCarregada();
+        return false;
+    }
+}
@@ -0,0 +1,54 @@
+package br.edu.ibmec.projeto_cloud.metricas;
+
+// Contadores de acesso ao banco da requisição HTTP em andamento, mantidos por thread.
+// Fora de uma requisição (jobs agendados, inicialização) nada é contado.
+public final class EstatisticasRequisicao {
+
+    private static final ThreadLocal<EstatisticasRequisicao> ATUAL = new ThreadLocal<>();
+
+    private long comandosSql;
+    private long tempoSqlNanos;
+    private long entidadesCarregadas;
+
+    private EstatisticasRequisicao() {
+    }
+
+    // Começa a contar para a requisição atual
+    public static void iniciar() {
+        ATUAL.set(new EstatisticasRequisicao());
+    }
+
+    // Encerra a contagem e devolve o que foi acumulado (null se não havia contagem ativa)
+    public static EstatisticasRequisicao encerrar() {
+        EstatisticasRequisicao estatisticas = ATUAL.get();
+        ATUAL.remove();
+        return estatisticas;
+    }
+
+    static void registrarComandoSql(long nanos) {
+        EstatisticasRequisicao estatisticas = ATUAL.get();
+        if (estatisticas != null) {
+            estatisticas.comandosSql++;
+            estatisticas.tempoSqlNanos += nanos;
+        }
+    }
+
+    static void registrarEntidadeCarregada() {
+        EstatisticasRequisicao estatisticas = ATUAL.get();
+        if (estatisticas != null) {
+            estatisticas.entidadesCarregadas++;
+        }
+    }
+
+    public long getComandosSql() {
+        return comandosSql;
+    }
+
+    public long getTempoSqlNanos() {
+        return tempoSqlNanos;
+    }
+
+    public long getEntidadesCarregadas() {
+        return entidadesCarregadas;
+    }
+}
@@ -0,0 +1,68 @@
+package br.edu.ibmec.projeto_cloud.metricas;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.concurrent.TimeUnit;
+
+// Publica, por endpoint, quantos comandos SQL cada requisição executou, quanto tempo passou no banco
+// e quantas entidades carregou. Comparando com http.server.requests dá para separar banco, N+1 e
+// serialização (a serialização do corpo acontece antes de afterCompletion, então entra na contagem).
+public class MetricasRequisicaoInterceptor implements HandlerInterceptor {
+
+    private static final double[] PERCENTIS = {0.5, 0.99, 0.999};
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public MetricasRequisicaoInterceptor(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        EstatisticasRequisicao.iniciar();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        EstatisticasRequisicao estatisticas = EstatisticasRequisicao.encerrar();
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (estatisticas == null || registry == null) {
+            return;
+        }
+
+        Object padrao = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = padrao != null ? padrao.toString() : "UNKNOWN";
+        String metodo = request.getMethod();
+
+        DistributionSummary.builder("http.server.requests.sql.comandos")
+                .description("Comandos SQL executados por requisição")
+                .tags("uri", uri, "method", metodo)
+                .publishPercentiles(PERCENTIS)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(estatisticas.getComandosSql());
+        Timer.builder("http.server.requests.sql.tempo")
+                .description("Tempo gasto executando SQL por requisição")
+                .tags("uri", uri, "method", metodo)
+                .publishPercentiles(PERCENTIS)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(estatisticas.getTempoSqlNanos(), TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("http.server.requests.entidades")
+                .description("Entidades carregadas pelo Hibernate por requisição")
+                .tags("uri", uri, "method", metodo)
+                .publishPercentiles(PERCENTIS)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(estatisticas.getEntidadesCarregadas());
+    }
+}
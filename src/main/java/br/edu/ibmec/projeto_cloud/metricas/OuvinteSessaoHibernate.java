@@ -0,0 +1,31 @@
+package br.edu.ibmec.projeto_cloud.metricas;
+
+import org.hibernate.SessionEventListener;
+
+// Conta os comandos JDBC executados (consultas e lotes) e o tempo gasto neles.
+// O Hibernate cria uma instância por sessão (hibernate.session.events.auto).
+public class OuvinteSessaoHibernate implements SessionEventListener {
+
+    private long inicioComando;
+    private long inicioLote;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        inicioComando = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        EstatisticasRequisicao.registrarComandoSql(System.nanoTime() - inicioComando);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        inicioLote = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        EstatisticasRequisicao.registrarComandoSql(System.nanoTime() - inicioLote);
+    }
+}
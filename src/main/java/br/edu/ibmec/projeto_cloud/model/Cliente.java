@@ -4,29 +4,62 @@ import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.OptimisticLock;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 
 import jakarta.validation.constraints.NotNull;
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 //import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Past;
-import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
+import br.edu.ibmec.projeto_cloud.model.converter.CpfConverter;
+import br.edu.ibmec.projeto_cloud.model.converter.TelefoneConverter;
+import br.edu.ibmec.projeto_cloud.validation.Cpf;
+import br.edu.ibmec.projeto_cloud.validation.Telefone;
 
+// O UPDATE gerado inclui só as colunas alteradas (além da versão), o que combina com o PATCH.
+// O cache de segundo nível do cliente e da lista de endereços é ligado em CacheSegundoNivelConfig.
 @Entity
+@DynamicUpdate
+@Table(uniqueConstraints = {
+    @UniqueConstraint(name = Cliente.UK_EMAIL, columnNames = "email"),
+    @UniqueConstraint(name = Cliente.UK_CPF, columnNames = "cpf")
+})
 public class Cliente {
 
+    // Nomes das chaves únicas, usados para traduzir violações em mensagens de negócio
+    public static final String UK_EMAIL = "uk_cliente_email";
+    public static final String UK_CPF = "uk_cliente_cpf";
+
+    // Sequência com alocação em blocos: permite que o Hibernate agrupe os INSERTs em lotes JDBC
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cliente_seq")
+    @SequenceGenerator(name = "cliente_seq", sequenceName = "cliente_seq", allocationSize = 50)
     private Long id;
 
+    // Incrementada a cada alteração do cliente ou de seus endereços; é a ETag de GET /clientes/{id}
+    // e de GET /enderecos/cliente/{clienteId}. O default preenche as linhas já existentes.
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    @JsonIgnore
+    private Long versao;
+
     @NotNull
     @NotBlank
     @Size(min = 3, max = 100)
@@ -34,22 +67,26 @@ public class Cliente {
 
     @NotNull
     @Email
-    @Column(unique = true)
     private String email;
 
     @NotNull
-    @Column(unique = true)
-    @Pattern(regexp = "\\d{3}\\.\\d{3}\\.\\d{3}-\\d{2}") // Validação de CPF 
+    @Cpf // Validação de CPF: formato XXX.XXX.XXX-XX e dígitos verificadores
+    @Convert(converter = CpfConverter.class) // Gravado como número; a API continua formatada
     private String cpf;
 
     @NotNull
     @Past // Garante que a data seja no passado
     private LocalDate dataNascimento;
 
-    @Pattern(regexp = "\\(\\d{2}\\) \\d{5}-\\d{4}") // Validação de telefone (XX) XXXXX-XXXX
+    @Telefone // Validação de telefone (XX) XXXXX-XXXX
+    @Convert(converter = TelefoneConverter.class)
     private String telefone;
 
+    // Carrega os endereços de uma página inteira de clientes em uma única consulta (evita N+1).
+    // Mudanças na lista sobem a versão do cliente (o lado mappedBy fica fora do controle de versão por padrão).
     @OneToMany(mappedBy = "cliente", cascade = jakarta.persistence.CascadeType.ALL)
+    @BatchSize(size = 100)
+    @OptimisticLock(excluded = false)
     @JsonManagedReference
     private List<Endereco> enderecos = new ArrayList<>();
 
@@ -62,6 +99,14 @@ public class Cliente {
         this.id = id;
     }
 
+    public Long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
+
     public String getNome() {
         return nome;
     }
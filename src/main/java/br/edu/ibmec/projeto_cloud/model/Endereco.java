@@ -1,18 +1,23 @@
 package br.edu.ibmec.projeto_cloud.model;
 
 import jakarta.validation.constraints.NotNull;
-//import jakarta.persistence.Column;
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
+import br.edu.ibmec.projeto_cloud.model.converter.CepConverter;
+import br.edu.ibmec.projeto_cloud.validation.Cep;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 //import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 
@@ -21,9 +26,15 @@ import com.fasterxml.jackson.annotation.JsonBackReference;
 public class Endereco {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "endereco_seq")
+    @SequenceGenerator(name = "endereco_seq", sequenceName = "endereco_seq", allocationSize = 50)
     private Long id;
 
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    @JsonIgnore
+    private Long versao;
+
     @NotNull
     @NotBlank
     @Size(min = 3, max = 255)
@@ -48,7 +59,8 @@ public class Endereco {
     private String estado;
 
     @NotNull
-    @Pattern(regexp = "\\d{5}-\\d{3}") // Validação de CEP 
+    @Cep // Validação de CEP XXXXX-XXX
+    @Convert(converter = CepConverter.class) // Gravado como número; a API continua formatada
     private String cep;
 
     @ManyToOne
@@ -65,6 +77,14 @@ public class Endereco {
         this.id = id;
     }
 
+    public Long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
+
     public String getRua() {
         return rua;
     }
@@ -0,0 +1,21 @@
+package br.edu.ibmec.projeto_cloud.model.converter;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+// Grava o CEP como INT e devolve XXXXX-XXX
+@Converter
+public class CepConverter implements AttributeConverter<String, Integer> {
+
+    private static final String MASCARA = "#####-###";
+
+    @Override
+    public Integer convertToDatabaseColumn(String cep) {
+        return cep == null ? null : (int) Digitos.extrair(cep);
+    }
+
+    @Override
+    public String convertToEntityAttribute(Integer cep) {
+        return cep == null ? null : Digitos.formatar(cep, MASCARA);
+    }
+}
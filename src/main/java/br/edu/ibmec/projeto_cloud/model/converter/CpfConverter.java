@@ -0,0 +1,21 @@
+package br.edu.ibmec.projeto_cloud.model.converter;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+// Grava o CPF como BIGINT (8 bytes em vez de até 14 caracteres) e devolve XXX.XXX.XXX-XX
+@Converter
+public class CpfConverter implements AttributeConverter<String, Long> {
+
+    private static final String MASCARA = "###.###.###-##";
+
+    @Override
+    public Long convertToDatabaseColumn(String cpf) {
+        return cpf == null ? null : Digitos.extrair(cpf);
+    }
+
+    @Override
+    public String convertToEntityAttribute(Long cpf) {
+        return cpf == null ? null : Digitos.formatar(cpf, MASCARA);
+    }
+}
@@ -0,0 +1,32 @@
+package br.edu.ibmec.projeto_cloud.model.converter;
+
+// Conversão entre os valores formatados da API e os números gravados no banco
+final class Digitos {
+
+    private Digitos() {
+    }
+
+    // Junta os dígitos do valor em um número, ignorando a pontuação
+    static long extrair(String valor) {
+        long numero = 0;
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            if (c >= '0' && c <= '9') {
+                numero = numero * 10 + (c - '0');
+            }
+        }
+        return numero;
+    }
+
+    // Preenche a máscara ('#' = dígito) com o número, completando com zeros à esquerda
+    static String formatar(long numero, String mascara) {
+        char[] formatado = mascara.toCharArray();
+        for (int i = formatado.length - 1; i >= 0; i--) {
+            if (formatado[i] == '#') {
+                formatado[i] = (char) ('0' + numero % 10);
+                numero /= 10;
+            }
+        }
+        return new String(formatado);
+    }
+}
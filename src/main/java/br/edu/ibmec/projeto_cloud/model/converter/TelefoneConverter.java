@@ -0,0 +1,21 @@
+package br.edu.ibmec.projeto_cloud.model.converter;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+// Grava o telefone como BIGINT e devolve (XX) XXXXX-XXXX
+@Converter
+public class TelefoneConverter implements AttributeConverter<String, Long> {
+
+    private static final String MASCARA = "(##) #####-####";
+
+    @Override
+    public Long convertToDatabaseColumn(String telefone) {
+        return telefone == null ? null : Digitos.extrair(telefone);
+    }
+
+    @Override
+    public String convertToEntityAttribute(Long telefone) {
+        return telefone == null ? null : Digitos.formatar(telefone, MASCARA);
+    }
+}
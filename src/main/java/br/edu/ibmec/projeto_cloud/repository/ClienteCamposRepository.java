@@ -0,0 +1,19 @@
+package br.edu.ibmec.projeto_cloud.repository;
+
+import org.springframework.data.domain.Limit;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+// Consultas que trazem só as colunas pedidas de Cliente (fields=), montadas com a Criteria API.
+// Cada cliente vem como um mapa atributo -> valor, sempre com o "id" primeiro e os demais na ordem pedida.
+public interface ClienteCamposRepository {
+
+    // Método para buscar os campos pedidos da página seguinte ao último ID visto (keyset, sem OFFSET)
+    List<Map<String, Object>> buscarCamposAposId(Collection<String> campos, Long id, Limit limit);
+
+    // Método para buscar os campos pedidos de um cliente
+    Optional<Map<String, Object>> buscarCamposPorId(Collection<String> campos, Long id);
+}
@@ -0,0 +1,78 @@
+package br.edu.ibmec.projeto_cloud.repository;
+
+import br.edu.ibmec.projeto_cloud.model.Cliente;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TupleElement;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Limit;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+// Implementação de ClienteCamposRepository (fragmento do ClienteRepository). Os nomes dos campos
+// devem ser atributos simples de Cliente; a validação do que a API aceita fica no serviço.
+class ClienteCamposRepositoryImpl implements ClienteCamposRepository {
+
+    private static final String ID = "id";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Map<String, Object>> buscarCamposAposId(Collection<String> campos, Long id, Limit limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> consulta = cb.createTupleQuery();
+        Root<Cliente> cliente = consulta.from(Cliente.class);
+        consulta.multiselect(selecoes(cliente, campos))
+                .where(cb.greaterThan(cliente.<Long>get(ID), id))
+                .orderBy(cb.asc(cliente.get(ID)));
+
+        return entityManager.createQuery(consulta)
+                .setMaxResults(limit.max())
+                .getResultStream()
+                .map(ClienteCamposRepositoryImpl::paraMapa)
+                .toList();
+    }
+
+    @Override
+    public Optional<Map<String, Object>> buscarCamposPorId(Collection<String> campos, Long id) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> consulta = cb.createTupleQuery();
+        Root<Cliente> cliente = consulta.from(Cliente.class);
+        consulta.multiselect(selecoes(cliente, campos))
+                .where(cb.equal(cliente.get(ID), id));
+
+        return entityManager.createQuery(consulta)
+                .getResultStream()
+                .findFirst()
+                .map(ClienteCamposRepositoryImpl::paraMapa);
+    }
+
+    private static List<Selection<?>> selecoes(Root<Cliente> cliente, Collection<String> campos) {
+        List<Selection<?>> selecoes = new ArrayList<>(campos.size() + 1);
+        selecoes.add(cliente.get(ID).alias(ID));
+        for (String campo : campos) {
+            if (!ID.equals(campo)) {
+                selecoes.add(cliente.get(campo).alias(campo));
+            }
+        }
+        return selecoes;
+    }
+
+    private static Map<String, Object> paraMapa(Tuple tupla) {
+        Map<String, Object> valores = new LinkedHashMap<>();
+        for (TupleElement<?> elemento : tupla.getElements()) {
+            valores.put(elemento.getAlias(), tupla.get(elemento));
+        }
+        return valores;
+    }
+}
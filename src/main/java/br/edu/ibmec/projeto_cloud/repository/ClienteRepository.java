@@ -1,18 +1,91 @@
 package br.edu.ibmec.projeto_cloud.repository;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import br.edu.ibmec.projeto_cloud.dto.ChavesCliente;
+import br.edu.ibmec.projeto_cloud.dto.ClienteResumo;
 import br.edu.ibmec.projeto_cloud.model.Cliente;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface ClienteRepository extends JpaRepository<Cliente, Long> {
+public interface ClienteRepository extends JpaRepository<Cliente, Long>, ClienteCamposRepository {
+
+    // Método para buscar cliente por ID já com os endereços (uma única consulta com join)
+    @Override
+    @EntityGraph(attributePaths = "enderecos")
+    Optional<Cliente> findById(Long id);
+
+    // Método para buscar vários clientes por ID já com os endereços, em uma única consulta (IN + join)
+    @EntityGraph(attributePaths = "enderecos")
+    List<Cliente> findByIdIn(Collection<Long> ids);
 
     // Método para buscar cliente por email
     Optional<Cliente> findByEmail(String email);
 
     // Método para buscar cliente por CPF
     Optional<Cliente> findByCpf(String cpf);
+
+    // Método para buscar, em uma única consulta, os clientes que já usam algum dos emails ou CPFs informados
+    @Query("select c.email as email, c.cpf as cpf from Cliente c where c.email in :emails or c.cpf in :cpfs")
+    List<ChavesCliente> buscarChavesExistentes(Collection<String> emails, Collection<String> cpfs);
+
+    // Método para percorrer as chaves únicas de todos os clientes em um cursor (carga do filtro de unicidade)
+    @Query("select c.email as email, c.cpf as cpf from Cliente c")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<ChavesCliente> buscarTodasAsChaves();
+
+    // Método para buscar apenas a versão do cliente (requisições condicionais com If-None-Match; resultado
+    // guardado no cache de consultas, se ligado)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("select c.versao from Cliente c where c.id = :id")
+    Optional<Long> buscarVersao(Long id);
+
+    // Método para buscar o cliente antes de incluir, alterar ou remover um de seus endereços, travando a linha
+    // até o fim da transação: as escritas nos endereços de um mesmo cliente ficam em fila e o UPDATE da versão
+    // do cliente, feito pelo Hibernate quando a lista de endereços muda, não falha por concorrência
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from Cliente c where c.id = :id")
+    Optional<Cliente> buscarParaAlterarEnderecos(Long id);
+
+    // Método para remover os clientes informados em um único DELETE, sem carregá-los
+    // (os endereços devem ser removidos antes, com EnderecoRepository.removerDosClientes)
+    @Modifying
+    @Query("delete from Cliente c where c.id in :ids")
+    int removerPorIds(Collection<Long> ids);
+
+    // Método para buscar a página seguinte ao último ID visto (keyset, sem OFFSET; resultado guardado no
+    // cache de consultas, se ligado, e os clientes vêm do cache de segundo nível)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Cliente> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    // Método para buscar a página seguinte já como resumo (projeção: nada entra no contexto de persistência;
+    // resultado guardado no cache de consultas, se ligado)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("select new br.edu.ibmec.projeto_cloud.dto.ClienteResumo(c.id, c.nome, c.email, c.cpf, c.telefone, "
+            + "c.dataNascimento) from Cliente c where c.id > :id order by c.id")
+    List<ClienteResumo> buscarResumosAposId(Long id, Limit limit);
+
+    // Método para percorrer todos os clientes com seus endereços em um cursor somente leitura
+    // (deve ser consumido dentro de uma transação e fechado ao final)
+    @Query("select c from Cliente c left join fetch c.enderecos order by c.id")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Cliente> buscarTodosComEnderecos();
 }
@@ -1,15 +1,45 @@
 package br.edu.ibmec.projeto_cloud.repository;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import br.edu.ibmec.projeto_cloud.dto.EnderecoResumo;
 import br.edu.ibmec.projeto_cloud.model.Endereco;
 
+import jakarta.persistence.QueryHint;
+
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface EnderecoRepository extends JpaRepository<Endereco, Long> {
 
     // Método para buscar todos os endereços de um cliente
     List<Endereco> findByClienteId(Long clienteId);
+
+    // Método para buscar os endereços de um cliente como resumo (projeção: sem entidades nem o cliente;
+    // resultado guardado no cache de consultas, se ligado)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("select new br.edu.ibmec.projeto_cloud.dto.EnderecoResumo(e.id, e.rua, e.numero, e.bairro, e.cidade, "
+            + "e.estado, e.cep, e.cliente.id) from Endereco e where e.cliente.id = :clienteId order by e.id")
+    List<EnderecoResumo> buscarResumosPorClienteId(Long clienteId);
+
+    // Método para buscar os endereços de vários clientes como resumo, em uma única consulta
+    @Query("select new br.edu.ibmec.projeto_cloud.dto.EnderecoResumo(e.id, e.rua, e.numero, e.bairro, e.cidade, "
+            + "e.estado, e.cep, e.cliente.id) from Endereco e where e.cliente.id in :clienteIds order by e.id")
+    List<EnderecoResumo> buscarResumosPorClienteIds(Collection<Long> clienteIds);
+
+    // Método para buscar o ID do cliente dono de um endereço, sem carregar as entidades
+    @Query("select e.cliente.id from Endereco e where e.id = :id")
+    Optional<Long> buscarClienteIdPorEnderecoId(Long id);
+
+    // Método para remover todos os endereços dos clientes informados em um único DELETE
+    @Modifying
+    @Query("delete from Endereco e where e.cliente.id in :clienteIds")
+    int removerDosClientes(Collection<Long> clienteIds);
 }
@@ -1,35 +1,208 @@
 package br.edu.ibmec.projeto_cloud.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 
 import br.edu.ibmec.projeto_cloud.repository.ClienteRepository;
+import br.edu.ibmec.projeto_cloud.repository.EnderecoRepository;
+import br.edu.ibmec.projeto_cloud.config.CacheConfig;
+import br.edu.ibmec.projeto_cloud.config.RoteadorDataSource;
+import br.edu.ibmec.projeto_cloud.dto.ChavesCliente;
+import br.edu.ibmec.projeto_cloud.dto.ClienteEmCache;
+import br.edu.ibmec.projeto_cloud.dto.ClientePatch;
+import br.edu.ibmec.projeto_cloud.dto.ClienteResumo;
+import br.edu.ibmec.projeto_cloud.dto.EnderecoResumo;
+import br.edu.ibmec.projeto_cloud.dto.ItemCliente;
+import br.edu.ibmec.projeto_cloud.dto.Pagina;
+import br.edu.ibmec.projeto_cloud.exception.ClienteNaoEncontradoException;
+import br.edu.ibmec.projeto_cloud.exception.RequisicaoInvalidaException;
 import br.edu.ibmec.projeto_cloud.model.Cliente;
+import br.edu.ibmec.projeto_cloud.model.Endereco;
+import br.edu.ibmec.projeto_cloud.util.CargaUnica;
+import br.edu.ibmec.projeto_cloud.util.GeracoesPorChave;
+import org.hibernate.Hibernate;
+import org.hibernate.exception.ConstraintViolationException;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 
 import java.util.Optional;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 
 import java.time.LocalDate;
 import java.time.Period;
 
 
+@Timed("servicos.chamadas")
 @Service
 public class ClienteService {
 
+    public static final int LIMITE_MAXIMO = 100;
+    public static final int LIMITE_LOTE = 1000;
+
+    // Campos aceitos em fields=, na ordem em que aparecem na resposta ("id" sempre vem)
+    public static final List<String> CAMPOS = List.of("id", "nome", "email", "cpf", "telefone", "dataNascimento",
+            "enderecos");
+    private static final String ENDERECOS = "enderecos";
+
     @Autowired
     private ClienteRepository clienteRepository;
 
+    @Autowired
+    private EnderecoRepository enderecoRepository;
+
+    @Autowired
+    private FiltroUnicidadeCliente filtroUnicidade;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${clientes.multiget.max-ids:100}")
+    private int maximoIdsPorBusca = 100;
+
+    // Avançadas a cada descarte do cache de clientes (CacheConfig)
+    @Autowired
+    private GeracoesPorChave geracoesClientes = new GeracoesPorChave();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Buscas por ID que erraram o cache ao mesmo tempo compartilham uma única ida ao banco, desde que
+    // na mesma geração: quem chega depois de um descarte não reaproveita uma carga anterior a ele
+    private final CargaUnica<CargaPorId, Optional<ClienteEmCache>> cargasPorId = new CargaUnica<>();
+
+    private record CargaPorId(Long id, long geracao) {
+    }
+
+    @PostConstruct
+    public void registrarMetricas() {
+        FunctionCounter.builder("clientes.busca.cargas", cargasPorId, CargaUnica::getCargas)
+                .description("Buscas de cliente por ID que foram ao banco")
+                .register(meterRegistry);
+        FunctionCounter.builder("clientes.busca.coalescidas", cargasPorId, CargaUnica::getEsperasCoalescidas)
+                .description("Buscas de cliente por ID que aguardaram uma carga já em andamento")
+                .register(meterRegistry);
+        Gauge.builder("clientes.busca.em.andamento", cargasPorId, CargaUnica::getEmAndamento)
+                .description("Clientes sendo carregados do banco neste momento")
+                .register(meterRegistry);
+    }
+
     // Método para salvar um novo cliente
     public Cliente salvarCliente(Cliente cliente) {
         validarIdade(cliente.getDataNascimento());
         verificarUnicidade(cliente.getEmail(), cliente.getCpf());
-        return clienteRepository.save(cliente);
+        Cliente novoCliente;
+        try {
+            novoCliente = clienteRepository.save(cliente);
+        } catch (DataIntegrityViolationException e) {
+            // Outra requisição gravou o mesmo email/CPF entre a verificação e o INSERT
+            throw traduzirViolacaoDeUnicidade(e);
+        }
+        filtroUnicidade.registrar(novoCliente.getEmail(), novoCliente.getCpf());
+        return novoCliente;
+    }
+
+    // Método para salvar vários clientes de uma vez: a unicidade de todo o lote é verificada
+    // em uma única consulta e os INSERTs são enviados em lotes JDBC
+    @Transactional
+    public List<Cliente> salvarClientes(List<Cliente> clientes) {
+        if (clientes == null || clientes.isEmpty()) {
+            throw new RequisicaoInvalidaException("Informe ao menos um cliente");
+        }
+        if (clientes.size() > LIMITE_LOTE) {
+            throw new RequisicaoInvalidaException("O lote deve ter no máximo " + LIMITE_LOTE + " clientes");
+        }
+
+        Set<String> emails = new HashSet<>();
+        Set<String> cpfs = new HashSet<>();
+        boolean talvezExista = false;
+        for (Cliente cliente : clientes) {
+            validarIdade(cliente.getDataNascimento());
+            if (!emails.add(cliente.getEmail())) {
+                throw new RequisicaoInvalidaException("Email repetido no lote: " + cliente.getEmail());
+            }
+            if (!cpfs.add(cliente.getCpf())) {
+                throw new RequisicaoInvalidaException("CPF repetido no lote: " + cliente.getCpf());
+            }
+            talvezExista |= filtroUnicidade.talvezExista(cliente.getEmail(), cliente.getCpf());
+            // Garante o vínculo dos endereços enviados junto com o cliente
+            if (cliente.getEnderecos() != null) {
+                cliente.getEnderecos().forEach(endereco -> endereco.setCliente(cliente));
+            }
+        }
+
+        // Só consulta o banco se o filtro de unicidade indicar que alguma chave talvez exista
+        if (talvezExista) {
+            List<ChavesCliente> existentes = clienteRepository.buscarChavesExistentes(emails, cpfs);
+            if (!existentes.isEmpty()) {
+                ChavesCliente existente = existentes.get(0);
+                if (emails.contains(existente.getEmail())) {
+                    throw new RequisicaoInvalidaException("Email já cadastrado: " + existente.getEmail());
+                }
+                throw new RequisicaoInvalidaException("CPF já cadastrado: " + existente.getCpf());
+            }
+            filtroUnicidade.registrarFalsoPositivo();
+        }
+
+        List<Cliente> novosClientes;
+        try {
+            novosClientes = clienteRepository.saveAllAndFlush(clientes);
+        } catch (DataIntegrityViolationException e) {
+            throw traduzirViolacaoDeUnicidade(e);
+        }
+        novosClientes.forEach(cliente -> filtroUnicidade.registrar(cliente.getEmail(), cliente.getCpf()));
+        return novosClientes;
     }
 
     // Método para atualizar um cliente existente
+    @CacheEvict(cacheNames = CacheConfig.CLIENTES, key = "#id")
     public Cliente atualizarCliente(Long id, Cliente clienteAtualizado) {
         Cliente clienteExistente = clienteRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Cliente não encontrado"));
+                .orElseThrow(() -> new ClienteNaoEncontradoException());
+        boolean chavesAlteradas = !Objects.equals(clienteExistente.getEmail(), clienteAtualizado.getEmail())
+                || !Objects.equals(clienteExistente.getCpf(), clienteAtualizado.getCpf());
 
         clienteExistente.setNome(clienteAtualizado.getNome());
         clienteExistente.setEmail(clienteAtualizado.getEmail());
@@ -37,43 +210,368 @@ public class ClienteService {
         clienteExistente.setTelefone(clienteAtualizado.getTelefone());
         clienteExistente.setDataNascimento(clienteAtualizado.getDataNascimento());
 
-        return clienteRepository.save(clienteExistente);
+        Cliente clienteSalvo;
+        try {
+            clienteSalvo = clienteRepository.save(clienteExistente);
+        } catch (DataIntegrityViolationException e) {
+            throw traduzirViolacaoDeUnicidade(e);
+        }
+        if (chavesAlteradas) {
+            filtroUnicidade.registrar(clienteSalvo.getEmail(), clienteSalvo.getCpf());
+            filtroUnicidade.registrarObsoletas(1);
+        }
+        return clienteSalvo;
     }
 
-    // Método para listar todos os clientes
-    public List<Cliente> listarClientes() {
-        return clienteRepository.findAll();
+    // Método para alterar apenas os campos informados de um cliente. Com versaoEsperada (If-Match), a alteração
+    // só é aplicada se o cliente ainda estiver nessa versão; alterações concorrentes também são barradas pelo
+    // @Version no UPDATE. Nos dois casos é lançada OptimisticLockingFailureException. O cliente sai do cache
+    // depois do commit.
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.CLIENTES, key = "#id", beforeInvocation = false)
+    public Cliente atualizarParcialmente(Long id, ClientePatch alteracoes, Long versaoEsperada) {
+        Cliente cliente = clienteRepository.findById(id)
+                .orElseThrow(() -> new ClienteNaoEncontradoException());
+        if (versaoEsperada != null && !versaoEsperada.equals(cliente.getVersao())) {
+            throw new OptimisticLockingFailureException("O cliente foi alterado por outra requisição.");
+        }
+
+        boolean chavesAlteradas = (alteracoes.email() != null && !alteracoes.email().equals(cliente.getEmail()))
+                || (alteracoes.cpf() != null && !alteracoes.cpf().equals(cliente.getCpf()));
+        if (alteracoes.dataNascimento() != null) {
+            validarIdade(alteracoes.dataNascimento());
+            cliente.setDataNascimento(alteracoes.dataNascimento());
+        }
+        if (alteracoes.nome() != null) {
+            cliente.setNome(alteracoes.nome());
+        }
+        if (alteracoes.email() != null) {
+            cliente.setEmail(alteracoes.email());
+        }
+        if (alteracoes.cpf() != null) {
+            cliente.setCpf(alteracoes.cpf());
+        }
+        if (alteracoes.telefone() != null) {
+            cliente.setTelefone(alteracoes.telefone());
+        }
+
+        try {
+            // O flush executa o UPDATE aqui, para que violações de chave única sejam traduzidas
+            clienteRepository.saveAndFlush(cliente);
+        } catch (DataIntegrityViolationException e) {
+            throw traduzirViolacaoDeUnicidade(e);
+        }
+        if (chavesAlteradas) {
+            filtroUnicidade.registrar(cliente.getEmail(), cliente.getCpf());
+            filtroUnicidade.registrarObsoletas(1);
+        }
+        return cliente;
+    }
+
+    // Método para listar clientes paginados por cursor (keyset sobre o ID). Somente leitura: com a réplica
+    // configurada, a página e os endereços (carregados aqui, em lote) vêm dela.
+    @Transactional(readOnly = true)
+    public Pagina<Cliente> listarClientes(String cursor, int limit) {
+        Pagina<Cliente> pagina = paginar(cursor, limit, clienteRepository::findByIdGreaterThanOrderByIdAsc,
+                Cliente::getId);
+        pagina.itens().forEach(cliente -> Hibernate.initialize(cliente.getEnderecos()));
+        return pagina;
+    }
+
+    // Método para listar o resumo dos clientes (sem endereços) paginado por cursor. A projeção não cria
+    // entidades gerenciadas e a transação somente leitura dispensa o flush e os snapshots de dirty checking.
+    @Transactional(readOnly = true)
+    public Pagina<ClienteResumo> listarResumos(String cursor, int limit) {
+        return paginar(cursor, limit, clienteRepository::buscarResumosAposId, ClienteResumo::id);
+    }
+
+    // Método para listar só os campos pedidos (fields=nome,email) dos clientes, paginados por cursor. A consulta
+    // traz apenas essas colunas, sem criar entidades; os endereços só são buscados se pedidos, em uma consulta
+    // para a página inteira.
+    @Transactional(readOnly = true)
+    public Pagina<Map<String, Object>> listarCampos(String fields, String cursor, int limit) {
+        List<String> campos = camposPedidos(fields);
+        Pagina<Map<String, Object>> pagina = paginar(cursor, limit,
+                (ultimoId, limite) -> clienteRepository.buscarCamposAposId(colunas(campos), ultimoId, limite),
+                cliente -> (Long) cliente.get("id"));
+        if (campos.contains(ENDERECOS)) {
+            adicionarEnderecos(pagina.itens());
+        }
+        return pagina;
     }
 
-    // Método para buscar um cliente por ID
+    // Método para buscar só os campos pedidos de um cliente
+    @Transactional(readOnly = true)
+    public Optional<Map<String, Object>> buscarCamposPorId(Long id, String fields) {
+        List<String> campos = camposPedidos(fields);
+        Optional<Map<String, Object>> cliente = clienteRepository.buscarCamposPorId(colunas(campos), id);
+        if (cliente.isPresent() && campos.contains(ENDERECOS)) {
+            adicionarEnderecos(List.of(cliente.get()));
+        }
+        return cliente;
+    }
+
+    // Método para exportar todos os clientes com seus endereços em NDJSON (um cliente por linha).
+    // Os clientes são lidos por cursor e desanexados após a escrita, mantendo a memória constante.
+    @Transactional(readOnly = true)
+    public long exportarClientes(OutputStream saida) throws IOException {
+        long exportados = 0;
+        ObjectWriter escritor = objectMapper.writerFor(Cliente.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        JsonGenerator gerador = objectMapper.getFactory().createGenerator(saida);
+        gerador.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        gerador.setRootValueSeparator(null);
+
+        try (Stream<Cliente> clientes = clienteRepository.buscarTodosComEnderecos()) {
+            Iterator<Cliente> iterador = clientes.iterator();
+            while (iterador.hasNext()) {
+                Cliente cliente = iterador.next();
+                escritor.writeValue(gerador, cliente);
+                gerador.writeRaw('\n');
+                entityManager.detach(cliente);
+                exportados++;
+            }
+        } finally {
+            gerador.close();
+        }
+        return exportados;
+    }
+
+    // Método para buscar um cliente por ID (leitura via cache; clientes inexistentes não são guardados).
+    // Quando várias requisições erram o cache para o mesmo ID, só a primeira consulta o banco e as
+    // demais recebem o mesmo resultado. Sem transação no método: um acerto no cache não pega conexão, e só
+    // a carga (findById, somente leitura) usa o banco, sem que quem espera por ela segure uma conexão. A carga
+    // lê do primário, pois o resultado vai para o cache. O cache guarda uma cópia imutável (ClienteEmCache)
+    // e cada chamada recebe um Cliente novo.
     public Optional<Cliente> buscarClientePorId(Long id) {
-        return clienteRepository.findById(id);
+        Cache cache = cacheManager.getCache(CacheConfig.CLIENTES);
+        ClienteEmCache emCache = cache != null ? cache.get(id, ClienteEmCache.class) : null;
+        if (emCache != null) {
+            return Optional.of(emCache.paraCliente());
+        }
+
+        long geracao = geracoesClientes.atual(id);
+        return cargasPorId.carregar(new CargaPorId(id, geracao), () -> {
+            Optional<ClienteEmCache> cliente = RoteadorDataSource.executarNoPrimario(
+                    () -> clienteRepository.findById(id).map(ClienteEmCache::de));
+            cliente.ifPresent(c -> guardarNoCache(cache, id, c, geracao));
+            return cliente;
+        }).map(ClienteEmCache::paraCliente);
     }
 
-    // Método para remover um cliente
+    // Método para buscar vários clientes por ID. O que estiver em cache é usado direto; o restante vem
+    // em uma única consulta com os endereços e é guardado no cache. O resultado segue a ordem dos IDs pedidos.
+    // Como em buscarClientePorId, só a consulta dos faltantes abre transação e usa conexão, sempre no primário.
+    public List<ItemCliente> buscarClientesPorIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty() || ids.size() > maximoIdsPorBusca) {
+            throw new RequisicaoInvalidaException("Informe entre 1 e " + maximoIdsPorBusca + " IDs");
+        }
+
+        Cache cache = cacheManager.getCache(CacheConfig.CLIENTES);
+        Map<Long, ClienteEmCache> encontrados = new HashMap<>();
+        Map<Long, Long> faltantes = new LinkedHashMap<>();
+        for (Long id : ids) {
+            ClienteEmCache emCache = cache != null ? cache.get(id, ClienteEmCache.class) : null;
+            if (emCache != null) {
+                encontrados.put(id, emCache);
+            } else {
+                // A geração é anotada antes da consulta, como em buscarClientePorId
+                faltantes.putIfAbsent(id, geracoesClientes.atual(id));
+            }
+        }
+
+        if (!faltantes.isEmpty()) {
+            List<ClienteEmCache> carregados = RoteadorDataSource.executarNoPrimario(
+                    () -> clienteRepository.findByIdIn(faltantes.keySet()).stream().map(ClienteEmCache::de).toList());
+            for (ClienteEmCache cliente : carregados) {
+                encontrados.put(cliente.id(), cliente);
+                guardarNoCache(cache, cliente.id(), cliente, faltantes.get(cliente.id()));
+            }
+        }
+
+        return ids.stream().map(id -> {
+            ClienteEmCache cliente = encontrados.get(id);
+            return ItemCliente.de(id, cliente != null ? cliente.paraCliente() : null);
+        }).toList();
+    }
+
+    // Guarda a cópia no cache e confere a geração anotada antes da carga: se um descarte aconteceu no meio,
+    // o que foi lido pode ser anterior à escrita que o causou, então a cópia sai do cache
+    private void guardarNoCache(Cache cache, Long id, ClienteEmCache cliente, long geracao) {
+        if (cache == null) {
+            return;
+        }
+        cache.put(id, cliente);
+        if (geracoesClientes.atual(id) != geracao) {
+            cache.evict(id);
+        }
+    }
+
+    // Método para buscar só a versão do cliente (ETag), sem carregar o cliente e os endereços.
+    // Se o cliente estiver em cache a versão vem dele, sem ir ao banco.
+    public Optional<Long> buscarVersao(Long id) {
+        Cache cache = cacheManager.getCache(CacheConfig.CLIENTES);
+        ClienteEmCache emCache = cache != null ? cache.get(id, ClienteEmCache.class) : null;
+        if (emCache != null) {
+            return Optional.ofNullable(emCache.versao());
+        }
+        return clienteRepository.buscarVersao(id);
+    }
+
+    // Método para remover um cliente e seus endereços com dois DELETEs, sem carregar as entidades
+    @Transactional
     public void removerCliente(Long id) {
-        clienteRepository.deleteById(id);
+        removerComEnderecos(List.of(id));
+    }
+
+    // Método para remover vários clientes e seus endereços de uma vez (IDs inexistentes são ignorados)
+    @Transactional
+    public void removerClientes(List<Long> ids) {
+        if (ids == null || ids.isEmpty() || ids.size() > LIMITE_LOTE) {
+            throw new RequisicaoInvalidaException("Informe entre 1 e " + LIMITE_LOTE + " IDs");
+        }
+        removerComEnderecos(new LinkedHashSet<>(ids));
+    }
+
+    // Os descartes do cache só valem depois do commit (CacheConfig): antes dele, uma busca concorrente
+    // ainda veria os clientes e os guardaria de novo
+    private void removerComEnderecos(Collection<Long> ids) {
+        enderecoRepository.removerDosClientes(ids);
+        int removidos = clienteRepository.removerPorIds(ids);
+        filtroUnicidade.registrarObsoletas(removidos);
+
+        Cache clientes = cacheManager.getCache(CacheConfig.CLIENTES);
+        Cache enderecos = cacheManager.getCache(CacheConfig.ENDERECOS_POR_CLIENTE);
+        for (Long id : ids) {
+            if (clientes != null) {
+                clientes.evict(id);
+            }
+            if (enderecos != null) {
+                enderecos.evict(id);
+            }
+        }
+    }
+
+    // Converte "nome,email" na lista de campos, sem repetições e na ordem de CAMPOS
+    static List<String> camposPedidos(String fields) {
+        Set<String> pedidos = new HashSet<>();
+        if (fields != null) {
+            for (String campo : fields.split(",")) {
+                String nome = campo.trim();
+                if (nome.isEmpty()) {
+                    continue;
+                }
+                if (!CAMPOS.contains(nome)) {
+                    throw new RequisicaoInvalidaException("Campo inválido: " + nome + ". Use: " + String.join(", ", CAMPOS));
+                }
+                pedidos.add(nome);
+            }
+        }
+        if (pedidos.isEmpty()) {
+            throw new RequisicaoInvalidaException("Informe ao menos um campo em fields. Use: " + String.join(", ", CAMPOS));
+        }
+        return CAMPOS.stream().filter(pedidos::contains).toList();
+    }
+
+    // Colunas da tabela cliente entre os campos pedidos (os endereços vêm de outra consulta)
+    private static List<String> colunas(List<String> campos) {
+        return campos.stream().filter(campo -> !ENDERECOS.equals(campo)).toList();
     }
 
-    // Valida a idade mínima de 18 anos
-    private void validarIdade(LocalDate dataNascimento) {
+    // Acrescenta a lista "enderecos" a cada cliente, com uma única consulta para todos
+    private void adicionarEnderecos(List<Map<String, Object>> clientes) {
+        Map<Long, List<Endereco>> porCliente = new HashMap<>();
+        for (Map<String, Object> cliente : clientes) {
+            porCliente.put((Long) cliente.get("id"), new ArrayList<>());
+        }
+        if (porCliente.isEmpty()) {
+            return;
+        }
+        for (EnderecoResumo endereco : enderecoRepository.buscarResumosPorClienteIds(porCliente.keySet())) {
+            porCliente.get(endereco.clienteId()).add(endereco.paraEndereco());
+        }
+        for (Map<String, Object> cliente : clientes) {
+            cliente.put(ENDERECOS, porCliente.get((Long) cliente.get("id")));
+        }
+    }
+
+    // Valida a idade mínima de 18 anos (visível no pacote para o benchmark)
+    void validarIdade(LocalDate dataNascimento) {
         int idade = Period.between(dataNascimento, LocalDate.now()).getYears();
         if (idade < 18) {
-            throw new IllegalArgumentException("O cliente deve ter no mínimo 18 anos");
+            throw new RequisicaoInvalidaException("O cliente deve ter no mínimo 18 anos");
+        }
+    }
+
+    // Paginação por cursor comum às listagens: valida o limite, consulta os itens após o último ID visto
+    // buscando um a mais para saber se existe uma próxima página, e gera o cursor a partir do último item
+    private <T> Pagina<T> paginar(String cursor, int limit, BiFunction<Long, Limit, List<T>> consulta,
+            Function<T, Long> id) {
+        if (limit < 1 || limit > LIMITE_MAXIMO) {
+            throw new RequisicaoInvalidaException("O limite deve estar entre 1 e " + LIMITE_MAXIMO);
         }
+
+        List<T> itens = consulta.apply(decodificarCursor(cursor), Limit.of(limit + 1));
+        if (itens.size() <= limit) {
+            return new Pagina<>(itens, null);
+        }
+
+        List<T> pagina = itens.subList(0, limit);
+        return new Pagina<>(pagina, codificarCursor(id.apply(pagina.get(limit - 1))));
     }
 
-    // Verifica se o email e o CPF já estão cadastrados
+    // Gera o cursor opaco a partir do último ID da página
+    private String codificarCursor(Long ultimoId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(Long.toString(ultimoId).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    // Recupera o último ID visto; sem cursor a listagem começa do início
+    private Long decodificarCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            return Long.valueOf(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII));
+        } catch (IllegalArgumentException e) {
+            throw new RequisicaoInvalidaException("Cursor inválido");
+        }
+    }
+
+    // Verifica se o email e o CPF já estão cadastrados (uma única consulta, sem carregar entidades).
+    // O banco só é consultado quando o filtro de unicidade indica que alguma das chaves talvez exista.
     private void verificarUnicidade(String email, String cpf) {
-        Optional<Cliente> clienteComEmail = clienteRepository.findByEmail(email);
-        Optional<Cliente> clienteComCpf = clienteRepository.findByCpf(cpf);
+        if (!filtroUnicidade.talvezExista(email, cpf)) {
+            return;
+        }
 
-        if (clienteComEmail.isPresent()) {
-            throw new IllegalArgumentException("Email já cadastrado");
+        List<ChavesCliente> existentes = clienteRepository.buscarChavesExistentes(List.of(email), List.of(cpf));
+
+        if (existentes.stream().anyMatch(existente -> email.equals(existente.getEmail()))) {
+            throw new RequisicaoInvalidaException("Email já cadastrado");
+        }
+
+        if (!existentes.isEmpty()) {
+            throw new RequisicaoInvalidaException("CPF já cadastrado");
         }
 
-        if (clienteComCpf.isPresent()) {
-            throw new IllegalArgumentException("CPF já cadastrado");
+        filtroUnicidade.registrarFalsoPositivo();
+    }
+
+    // Converte a violação das chaves únicas de email/CPF nas mesmas mensagens da verificação prévia
+    private RuntimeException traduzirViolacaoDeUnicidade(DataIntegrityViolationException e) {
+        String restricao = e.getCause() instanceof ConstraintViolationException violacao
+                ? violacao.getConstraintName()
+                : null;
+        String detalhe = (restricao != null ? restricao : String.valueOf(e.getMostSpecificCause().getMessage()))
+                .toLowerCase();
+
+        if (detalhe.contains(Cliente.UK_EMAIL)) {
+            return new RequisicaoInvalidaException("Email já cadastrado");
+        }
+        if (detalhe.contains(Cliente.UK_CPF)) {
+            return new RequisicaoInvalidaException("CPF já cadastrado");
         }
+        return e;
     }
 }
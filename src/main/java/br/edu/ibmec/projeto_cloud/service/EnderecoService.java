@@ -1,8 +1,21 @@
 package br.edu.ibmec.projeto_cloud.service;
 
+import org.hibernate.collection.spi.PersistentCollection;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import io.micrometer.core.annotation.Timed;
+
+import br.edu.ibmec.projeto_cloud.config.CacheConfig;
+import br.edu.ibmec.projeto_cloud.config.RoteadorDataSource;
+import br.edu.ibmec.projeto_cloud.dto.EnderecoResumo;
+import br.edu.ibmec.projeto_cloud.exception.ClienteNaoEncontradoException;
+import br.edu.ibmec.projeto_cloud.exception.EnderecoNaoPertenceAoClienteException;
+import br.edu.ibmec.projeto_cloud.exception.RequisicaoInvalidaException;
 import br.edu.ibmec.projeto_cloud.repository.EnderecoRepository;
 import br.edu.ibmec.projeto_cloud.repository.ClienteRepository;
 import jakarta.persistence.EntityNotFoundException;
@@ -10,7 +23,9 @@ import br.edu.ibmec.projeto_cloud.model.Endereco;
 import br.edu.ibmec.projeto_cloud.model.Cliente;
 
 import java.util.List;
+import java.util.Optional;
 
+@Timed("servicos.chamadas")
 @Service
 public class EnderecoService {
 
@@ -20,63 +35,131 @@ public class EnderecoService {
     @Autowired
     private ClienteRepository clienteRepository;
 
+    @Autowired
+    private ClienteService clienteService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
     // Método para salvar um novo endereço associado a um cliente
+    // (as escritas travam o cliente até o commit e mudam a lista de endereços dele, o que faz o Hibernate subir
+    // a versão do cliente no UPDATE da própria entidade: no cache de segundo nível só a entrada desse cliente
+    // muda. O cliente, que inclui os endereços, e a lista de endereços dele também são descartados do cache;
+    // como os caches são cientes de transação, o descarte só vale após o commit)
+    @Transactional
+    @CacheEvict(cacheNames = {CacheConfig.CLIENTES, CacheConfig.ENDERECOS_POR_CLIENTE}, key = "#endereco.cliente.id",
+            beforeInvocation = false)
     public Endereco salvarEndereco(Endereco endereco) {
         if (endereco.getCliente() == null || endereco.getCliente().getId() == null) {
-            throw new IllegalArgumentException("O cliente é obrigatório.");
+            throw new RequisicaoInvalidaException("O cliente é obrigatório.");
         }
     
-        Long clienteId = endereco.getCliente().getId();
-        Cliente cliente = clienteRepository.findById(clienteId)
-            .orElseThrow(() -> new EntityNotFoundException("Cliente não encontrado"));
+        Cliente cliente = clienteRepository.buscarParaAlterarEnderecos(endereco.getCliente().getId())
+            .orElseThrow(() -> new ClienteNaoEncontradoException());
     
-        // Associa o cliente ao endereço
+        // Associa o cliente ao endereço dos dois lados
         endereco.setCliente(cliente);
-    
+        cliente.getEnderecos().add(endereco);
         return enderecoRepository.save(endereco);
     }
     
     // Método para atualizar um endereço associado a um cliente
+    @Transactional
+    @CacheEvict(cacheNames = {CacheConfig.CLIENTES, CacheConfig.ENDERECOS_POR_CLIENTE}, key = "#clienteId",
+            beforeInvocation = false)
     public Endereco atualizarEndereco(Long clienteId, Long enderecoId, Endereco enderecoAtualizado) {
-        Endereco enderecoExistente = enderecoRepository.findById(enderecoId)
-                .orElseThrow(() -> new EntityNotFoundException("Endereço não encontrado"));
-
-        // Verifica se o endereço pertence ao cliente
-        if (!enderecoExistente.getCliente().getId().equals(clienteId)) {
-            throw new IllegalArgumentException("Endereço não pertence ao cliente informado.");
-        }
+        Endereco endereco = buscarEnderecoDoCliente(clienteId, enderecoId);
+        endereco.setRua(enderecoAtualizado.getRua());
+        endereco.setNumero(enderecoAtualizado.getNumero());
+        endereco.setBairro(enderecoAtualizado.getBairro());
+        endereco.setCidade(enderecoAtualizado.getCidade());
+        endereco.setEstado(enderecoAtualizado.getEstado());
+        endereco.setCep(enderecoAtualizado.getCep());
 
-        // Atualiza os dados do endereço
-        enderecoExistente.setRua(enderecoAtualizado.getRua());
-        enderecoExistente.setNumero(enderecoAtualizado.getNumero());
-        enderecoExistente.setBairro(enderecoAtualizado.getBairro());
-        enderecoExistente.setCidade(enderecoAtualizado.getCidade());
-        enderecoExistente.setEstado(enderecoAtualizado.getEstado());
-        enderecoExistente.setCep(enderecoAtualizado.getCep());
-
-        return enderecoRepository.save(enderecoExistente);
+        // A lista de endereços não muda de tamanho, então é marcada como alterada para a versão do cliente subir
+        marcarEnderecosAlterados(endereco.getCliente());
+        return endereco;
     }
 
     // Método para remover um endereço associado a um cliente
+    @Transactional
+    @CacheEvict(cacheNames = {CacheConfig.CLIENTES, CacheConfig.ENDERECOS_POR_CLIENTE}, key = "#clienteId",
+            beforeInvocation = false)
     public void removerEnderecoPorCliente(Long clienteId, Long enderecoId) {
-        Endereco endereco = enderecoRepository.findById(enderecoId)
-                .orElseThrow(() -> new EntityNotFoundException("Endereço não encontrado"));
+        removerDoCliente(buscarEnderecoDoCliente(clienteId, enderecoId));
+    }
+
+    // Método para listar endereços associados a um cliente. O cache guarda cópias imutáveis
+    // (EnderecoResumo) em vez de entidades gerenciadas; cada chamada recebe objetos novos.
+    // Só a carga usa o banco (o primário, pois o resultado vai para o cache); um acerto no cache não pega conexão.
+    public List<Endereco> listarEnderecosPorCliente(Long clienteId) {
+        Cache cache = cacheManager.getCache(CacheConfig.ENDERECOS_POR_CLIENTE);
+        List<EnderecoResumo> enderecos = cache != null
+                ? cache.get(clienteId, () -> carregarEnderecos(clienteId))
+                : carregarEnderecos(clienteId);
+
+        return enderecos.stream().map(EnderecoResumo::paraEndereco).toList();
+    }
 
-        // Verifica se o endereço pertence ao cliente
-        if (!endereco.getCliente().getId().equals(clienteId)) {
-            throw new IllegalArgumentException("Endereço não pertence ao cliente informado.");
+    // Versão (ETag) da lista de endereços: a lista muda sempre junto com a versão do cliente
+    public Optional<Long> buscarVersaoDosEnderecos(Long clienteId) {
+        return clienteService.buscarVersao(clienteId);
+    }
+
+    // Método para remover um endereço pelo seu ID (um endereço que não existe mais é ignorado)
+    @Transactional
+    public void removerEndereco(Long id) {
+        Long clienteId = enderecoRepository.buscarClienteIdPorEnderecoId(id).orElse(null);
+        if (clienteId == null || clienteRepository.buscarParaAlterarEnderecos(clienteId).isEmpty()) {
+            return;
         }
+        Endereco endereco = enderecoRepository.findById(id).orElse(null);
+        if (endereco == null) {
+            return;
+        }
+        removerDoCliente(endereco);
+
+        // O dono do endereço só é conhecido após a consulta, por isso o cache é descartado manualmente
+        // (o descarte é registrado agora e aplicado depois do commit)
+        descartarDoCache(CacheConfig.CLIENTES, clienteId);
+        descartarDoCache(CacheConfig.ENDERECOS_POR_CLIENTE, clienteId);
+    }
 
+    // Trava o cliente e carrega o endereço dele: um endereço inexistente dá 404 e um de outro cliente (ou de um
+    // cliente inexistente), 403
+    private Endereco buscarEnderecoDoCliente(Long clienteId, Long enderecoId) {
+        Optional<Cliente> cliente = clienteRepository.buscarParaAlterarEnderecos(clienteId);
+        Endereco endereco = enderecoRepository.findById(enderecoId)
+            .orElseThrow(() -> new EntityNotFoundException("Endereço não encontrado"));
+        if (cliente.isEmpty() || !clienteId.equals(endereco.getCliente().getId())) {
+            throw new EnderecoNaoPertenceAoClienteException();
+        }
+        return endereco;
+    }
+
+    // Tira o endereço dos dois lados antes de removê-lo: a lista alterada sobe a versão do cliente e tira
+    // Cliente.enderecos do cache de segundo nível, senão a próxima carga do cliente viria com o ID removido
+    private void removerDoCliente(Endereco endereco) {
+        endereco.getCliente().getEnderecos().remove(endereco);
         enderecoRepository.delete(endereco);
     }
 
-    // Método para listar endereços associados a um cliente
-    public List<Endereco> listarEnderecosPorCliente(Long clienteId) {
-        return enderecoRepository.findByClienteId(clienteId);
+    // Marca a lista de endereços do cliente como alterada sem carregá-la; no flush o Hibernate sobe a versão
+    // do cliente e descarta só a lista dele do cache de segundo nível
+    private void marcarEnderecosAlterados(Cliente cliente) {
+        if (cliente.getEnderecos() instanceof PersistentCollection<?> enderecos) {
+            enderecos.dirty();
+        }
     }
 
-    // Método para remover um endereço pelo seu ID
-    public void removerEndereco(Long id) {
-        enderecoRepository.deleteById(id);
+    private List<EnderecoResumo> carregarEnderecos(Long clienteId) {
+        return RoteadorDataSource.executarNoPrimario(() -> enderecoRepository.buscarResumosPorClienteId(clienteId));
+    }
+
+    private void descartarDoCache(String nome, Long clienteId) {
+        Cache cache = cacheManager.getCache(nome);
+        if (cache != null) {
+            cache.evict(clienteId);
+        }
     }
 }
@@ -0,0 +1,165 @@
+package br.edu.ibmec.projeto_cloud.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.edu.ibmec.projeto_cloud.dto.ChavesCliente;
+import br.edu.ibmec.projeto_cloud.repository.ClienteRepository;
+import br.edu.ibmec.projeto_cloud.util.FiltroBloom;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+// Filtros de Bloom com os emails e CPFs cadastrados. Evitam a ida ao banco na verificação de
+// unicidade quando o email e o CPF com certeza ainda não existem. Um falso negativo (ex.: cliente
+// gravado por outra instância ou durante uma reconstrução) não quebra a regra, pois as chaves
+// únicas da tabela continuam barrando a duplicidade no INSERT.
+@Component
+public class FiltroUnicidadeCliente {
+
+    // Fração de chaves obsoletas (clientes removidos ou com email/CPF alterado) que dispara a reconstrução
+    private static final double FRACAO_OBSOLETA_MAXIMA = 0.1;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${clientes.unicidade.bloom.capacidade:1000000}")
+    private long capacidade;
+
+    @Value("${clientes.unicidade.bloom.probabilidade-falso-positivo:0.01}")
+    private double probabilidadeFalsoPositivo;
+
+    private volatile Filtros filtros;
+
+    private final AtomicLong chavesObsoletas = new AtomicLong();
+
+    private Counter consultasNegativas;
+    private Counter consultasTalvez;
+    private Counter falsosPositivos;
+
+    private record Filtros(FiltroBloom emails, FiltroBloom cpfs, AtomicLong elementos) {
+    }
+
+    @PostConstruct
+    public void registrarMetricas() {
+        consultasNegativas = Counter.builder("clientes.unicidade.bloom.consultas")
+                .tag("resultado", "negativo").register(meterRegistry);
+        consultasTalvez = Counter.builder("clientes.unicidade.bloom.consultas")
+                .tag("resultado", "talvez").register(meterRegistry);
+        falsosPositivos = Counter.builder("clientes.unicidade.bloom.consultas")
+                .tag("resultado", "falso_positivo").register(meterRegistry);
+
+        Gauge.builder("clientes.unicidade.bloom.fpp.estimada", this, FiltroUnicidadeCliente::probabilidadeEstimada)
+                .description("Probabilidade teórica de falso positivo dos filtros")
+                .register(meterRegistry);
+        Gauge.builder("clientes.unicidade.bloom.fpp.observada", this, FiltroUnicidadeCliente::probabilidadeObservada)
+                .description("Fração das respostas \"talvez\" que o banco não confirmou")
+                .register(meterRegistry);
+        Gauge.builder("clientes.unicidade.bloom.memoria", this, FiltroUnicidadeCliente::memoriaEmBytes)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    // Carrega os filtros assim que a aplicação sobe
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        reconstruir();
+    }
+
+    // Reconstrói os filtros quando as chaves removidas/alteradas passam a pesar na taxa de falso positivo
+    @Scheduled(fixedDelayString = "${clientes.unicidade.bloom.verificacao-ms:60000}")
+    public void reconstruirSeNecessario() {
+        Filtros atuais = filtros;
+        if (atuais != null && chavesObsoletas.get() > atuais.elementos().get() * FRACAO_OBSOLETA_MAXIMA) {
+            reconstruir();
+        }
+    }
+
+    public void reconstruir() {
+        long obsoletasAntes = chavesObsoletas.get();
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        transacao.setReadOnly(true);
+
+        Filtros novos = transacao.execute(status -> {
+            Filtros construidos = novosFiltros();
+            try (Stream<ChavesCliente> chaves = clienteRepository.buscarTodasAsChaves()) {
+                chaves.forEach(chave -> adicionar(construidos, chave.getEmail(), chave.getCpf()));
+            }
+            return construidos;
+        });
+
+        filtros = novos;
+        chavesObsoletas.addAndGet(-obsoletasAntes);
+    }
+
+    // Retorna false quando o email e o CPF com certeza não estão cadastrados
+    public boolean talvezExista(String email, String cpf) {
+        Filtros atuais = filtros;
+        if (atuais == null) {
+            // Filtros ainda não carregados: consulta o banco
+            return true;
+        }
+        boolean talvez = atuais.emails().talvezContenha(email) || atuais.cpfs().talvezContenha(cpf);
+        (talvez ? consultasTalvez : consultasNegativas).increment();
+        return talvez;
+    }
+
+    // Informa que o banco não encontrou as chaves que o filtro indicou como "talvez"
+    public void registrarFalsoPositivo() {
+        falsosPositivos.increment();
+    }
+
+    public void registrar(String email, String cpf) {
+        Filtros atuais = filtros;
+        if (atuais != null) {
+            adicionar(atuais, email, cpf);
+        }
+    }
+
+    // Filtros de Bloom não permitem remoção: as chaves antigas ficam até a próxima reconstrução
+    public void registrarObsoletas(long quantidade) {
+        chavesObsoletas.addAndGet(quantidade);
+    }
+
+    public double probabilidadeEstimada() {
+        Filtros atuais = filtros;
+        return atuais == null ? 1.0 : atuais.emails().probabilidadeFalsoPositivo(atuais.elementos().get());
+    }
+
+    public double probabilidadeObservada() {
+        double talvez = consultasTalvez.count();
+        return talvez == 0 ? 0.0 : falsosPositivos.count() / talvez;
+    }
+
+    public long memoriaEmBytes() {
+        Filtros atuais = filtros;
+        return atuais == null ? 0 : atuais.emails().tamanhoEmBytes() + atuais.cpfs().tamanhoEmBytes();
+    }
+
+    private Filtros novosFiltros() {
+        return new Filtros(new FiltroBloom(capacidade, probabilidadeFalsoPositivo),
+                new FiltroBloom(capacidade, probabilidadeFalsoPositivo), new AtomicLong());
+    }
+
+    private void adicionar(Filtros alvo, String email, String cpf) {
+        alvo.emails().adicionar(email);
+        alvo.cpfs().adicionar(cpf);
+        alvo.elementos().incrementAndGet();
+    }
+}
@@ -0,0 +1,68 @@
+package br.edu.ibmec.projeto_cloud.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Coalescência de cargas ("single flight"): chamadas simultâneas para a mesma chave compartilham uma
+// única execução da carga. A primeira chamada executa e as demais esperam pelo mesmo resultado (ou
+// pela mesma exceção). Terminada a carga a chave é liberada, então a próxima chamada carrega de novo.
+public class CargaUnica<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> emAndamento = new ConcurrentHashMap<>();
+    private final LongAdder cargas = new LongAdder();
+    private final LongAdder esperasCoalescidas = new LongAdder();
+
+    public V carregar(K chave, Supplier<V> carga) {
+        CompletableFuture<V> nova = new CompletableFuture<>();
+        CompletableFuture<V> existente = emAndamento.putIfAbsent(chave, nova);
+        if (existente != null) {
+            esperasCoalescidas.increment();
+            return aguardar(existente);
+        }
+
+        cargas.increment();
+        try {
+            V valor = carga.get();
+            nova.complete(valor);
+            return valor;
+        } catch (RuntimeException | Error e) {
+            nova.completeExceptionally(e);
+            throw e;
+        } finally {
+            emAndamento.remove(chave, nova);
+        }
+    }
+
+    // Quantas cargas foram de fato executadas
+    public long getCargas() {
+        return cargas.sum();
+    }
+
+    // Quantas chamadas esperaram por uma carga já em andamento em vez de executar a sua
+    public long getEsperasCoalescidas() {
+        return esperasCoalescidas.sum();
+    }
+
+    // Quantas chaves estão sendo carregadas neste momento
+    public int getEmAndamento() {
+        return emAndamento.size();
+    }
+
+    // Devolve a mesma exceção lançada pela carga, sem o CompletionException em volta
+    private static <V> V aguardar(CompletableFuture<V> futuro) {
+        try {
+            return futuro.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            if (e.getCause() instanceof Error causa) {
+                throw causa;
+            }
+            throw e;
+        }
+    }
+}
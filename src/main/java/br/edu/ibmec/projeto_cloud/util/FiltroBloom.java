@@ -0,0 +1,92 @@
+package br.edu.ibmec.projeto_cloud.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Filtro de Bloom para strings: responde "com certeza não existe" ou "talvez exista".
+// Seguro para uso concorrente e sem alocação por consulta (o hash percorre os caracteres da string).
+public class FiltroBloom {
+
+    private final AtomicLongArray palavras;
+    private final long totalBits;
+    private final int funcoesHash;
+
+    public FiltroBloom(long capacidade, double probabilidadeFalsoPositivo) {
+        if (capacidade < 1) {
+            throw new IllegalArgumentException("A capacidade deve ser positiva");
+        }
+        if (probabilidadeFalsoPositivo <= 0 || probabilidadeFalsoPositivo >= 1) {
+            throw new IllegalArgumentException("A probabilidade de falso positivo deve estar entre 0 e 1");
+        }
+        // Dimensionamento ótimo: m = -n ln(p) / (ln 2)^2 e k = (m / n) ln 2
+        long bits = (long) Math.ceil(-capacidade * Math.log(probabilidadeFalsoPositivo) / (Math.log(2) * Math.log(2)));
+        int palavrasNecessarias = (int) Math.min(Integer.MAX_VALUE - 8, (bits + 63) / 64);
+
+        this.palavras = new AtomicLongArray(palavrasNecessarias);
+        this.totalBits = (long) palavrasNecessarias * 64;
+        this.funcoesHash = Math.max(1, (int) Math.round((double) totalBits / capacidade * Math.log(2)));
+    }
+
+    public void adicionar(String valor) {
+        long hash = hash64(valor);
+        long h2 = segundoHash(hash);
+        for (int i = 1; i <= funcoesHash; i++) {
+            long bit = indice(hash + i * h2, totalBits);
+            int palavra = (int) (bit >>> 6);
+            long mascara = 1L << bit;
+            long atual = palavras.get(palavra);
+            while ((atual & mascara) == 0 && !palavras.compareAndSet(palavra, atual, atual | mascara)) {
+                atual = palavras.get(palavra);
+            }
+        }
+    }
+
+    public boolean talvezContenha(String valor) {
+        long hash = hash64(valor);
+        long h2 = segundoHash(hash);
+        for (int i = 1; i <= funcoesHash; i++) {
+            long bit = indice(hash + i * h2, totalBits);
+            if ((palavras.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Probabilidade teórica de falso positivo após a inserção de "elementos" valores: (1 - e^(-kn/m))^k
+    public double probabilidadeFalsoPositivo(long elementos) {
+        return Math.pow(1 - Math.exp(-(double) funcoesHash * elementos / totalBits), funcoesHash);
+    }
+
+    public long tamanhoEmBytes() {
+        return totalBits / 8;
+    }
+
+    public int getFuncoesHash() {
+        return funcoesHash;
+    }
+
+    // Posição do bit calculada em long: com int, filtros acima de 2^31 bits nunca usariam o restante
+    static long indice(long combinado, long totalBits) {
+        return (combinado & Long.MAX_VALUE) % totalBits;
+    }
+
+    // Segundo hash da combinação h1 + i * h2, ímpar para nunca ser zero
+    private static long segundoHash(long hash) {
+        return (Long.rotateLeft(hash, 32) * 0x9e3779b97f4a7c15L) | 1;
+    }
+
+    // FNV-1a de 64 bits seguido da finalização do MurmurHash3 para espalhar os bits
+    private static long hash64(String valor) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < valor.length(); i++) {
+            h ^= valor.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,45 @@
+package br.edu.ibmec.projeto_cloud.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Gerações por chave para preencher um cache sem guardar o que já foi descartado. Quem carrega anota a
+// geração da chave antes de ler do banco e confere depois de guardar o valor; quem descarta avança a
+// geração antes de remover a entrada. Se um descarte acontecer entre a leitura e a conferência, a geração
+// não bate e quem carregou remove o que guardou. As gerações ficam em faixas fixas escolhidas pelo hash da
+// chave, então a memória não cresce com o número de chaves; duas chaves na mesma faixa só causam descartes
+// a mais.
+public class GeracoesPorChave {
+
+    private final AtomicLongArray faixas;
+
+    public GeracoesPorChave() {
+        this(1024);
+    }
+
+    public GeracoesPorChave(int quantidadeFaixas) {
+        if (quantidadeFaixas < 1) {
+            throw new IllegalArgumentException("A quantidade de faixas deve ser positiva");
+        }
+        this.faixas = new AtomicLongArray(quantidadeFaixas);
+    }
+
+    public long atual(Object chave) {
+        return faixas.get(faixa(chave));
+    }
+
+    public void avancar(Object chave) {
+        faixas.incrementAndGet(faixa(chave));
+    }
+
+    // Usado quando o cache inteiro é limpo
+    public void avancarTodas() {
+        for (int i = 0; i < faixas.length(); i++) {
+            faixas.incrementAndGet(i);
+        }
+    }
+
+    private int faixa(Object chave) {
+        int hash = chave.hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), faixas.length());
+    }
+}
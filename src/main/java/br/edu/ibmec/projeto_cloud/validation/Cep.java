@@ -0,0 +1,24 @@
+package br.edu.ibmec.projeto_cloud.validation;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// CEP no formato XXXXX-XXX (valores nulos são aceitos; use @NotNull junto)
+@Documented
+@Constraint(validatedBy = CepValidator.class)
+@Target({ElementType.FIELD, ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Cep {
+
+    String message() default "CEP deve estar no formato XXXXX-XXX";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
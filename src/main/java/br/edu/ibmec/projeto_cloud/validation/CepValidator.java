@@ -0,0 +1,14 @@
+package br.edu.ibmec.projeto_cloud.validation;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+public class CepValidator implements ConstraintValidator<Cep, CharSequence> {
+
+    private static final String MASCARA = "#####-###";
+
+    @Override
+    public boolean isValid(CharSequence valor, ConstraintValidatorContext context) {
+        return valor == null || Formatos.seguirMascara(valor, MASCARA);
+    }
+}
@@ -0,0 +1,69 @@
+package br.edu.ibmec.projeto_cloud.validation;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+public class CpfValidator implements ConstraintValidator<Cpf, CharSequence> {
+
+    private static final String MASCARA = "###.###.###-##";
+
+    @Override
+    public boolean isValid(CharSequence valor, ConstraintValidatorContext context) {
+        return valor == null || valido(valor);
+    }
+
+    // Formato XXX.XXX.XXX-XX e os dois dígitos verificadores (módulo 11)
+    public static boolean valido(CharSequence cpf) {
+        if (!Formatos.seguirMascara(cpf, MASCARA)) {
+            return false;
+        }
+
+        int soma1 = 0;
+        int soma2 = 0;
+        int peso = 10;
+        boolean todosIguais = true;
+        char primeiro = cpf.charAt(0);
+        for (int i = 0; i < 11; i++) {
+            char c = cpf.charAt(i);
+            if (c == '.') {
+                continue;
+            }
+            int digito = c - '0';
+            todosIguais &= c == primeiro;
+            soma1 += digito * peso;
+            soma2 += digito * (peso + 1);
+            peso--;
+        }
+
+        // Sequências como 111.111.111-11 passam no cálculo, mas não são CPFs válidos
+        if (todosIguais && cpf.charAt(12) == primeiro && cpf.charAt(13) == primeiro) {
+            return false;
+        }
+
+        int verificador1 = digitoVerificador(soma1);
+        int verificador2 = digitoVerificador(soma2 + verificador1 * 2);
+        return cpf.charAt(12) - '0' == verificador1 && cpf.charAt(13) - '0' == verificador2;
+    }
+
+    // CPF formatado com os dígitos verificadores calculados a partir dos 9 últimos dígitos da base
+    // (massas de teste e benchmarks)
+    public static String gerar(long base) {
+        String numero = String.format("%09d", base % 1_000_000_000L);
+        int soma1 = 0;
+        int soma2 = 0;
+        for (int i = 0; i < 9; i++) {
+            int digito = numero.charAt(i) - '0';
+            soma1 += digito * (10 - i);
+            soma2 += digito * (11 - i);
+        }
+        int verificador1 = digitoVerificador(soma1);
+        int verificador2 = digitoVerificador(soma2 + verificador1 * 2);
+        return numero.substring(0, 3) + "." + numero.substring(3, 6) + "." + numero.substring(6, 9)
+                + "-" + verificador1 + verificador2;
+    }
+
+    private static int digitoVerificador(int soma) {
+        int resto = soma % 11;
+        return resto < 2 ? 0 : 11 - resto;
+    }
+}
@@ -0,0 +1,28 @@
+package br.edu.ibmec.projeto_cloud.validation;
+
+// Verificações de formato feitas caractere a caractere, sem regex e sem alocar objetos
+final class Formatos {
+
+    private Formatos() {
+    }
+
+    static boolean digito(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    // Confere se o valor tem exatamente o tamanho da máscara e se cada posição casa com ela:
+    // '#' exige um dígito e qualquer outro caractere precisa aparecer literalmente
+    static boolean seguirMascara(CharSequence valor, String mascara) {
+        if (valor.length() != mascara.length()) {
+            return false;
+        }
+        for (int i = 0; i < mascara.length(); i++) {
+            char esperado = mascara.charAt(i);
+            char atual = valor.charAt(i);
+            if (esperado == '#' ? !digito(atual) : atual != esperado) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
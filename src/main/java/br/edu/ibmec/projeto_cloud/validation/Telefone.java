@@ -0,0 +1,24 @@
+package br.edu.ibmec.projeto_cloud.validation;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Telefone no formato (XX) XXXXX-XXXX (valores nulos são aceitos; use @NotNull junto)
+@Documented
+@Constraint(validatedBy = TelefoneValidator.class)
+@Target({ElementType.FIELD, ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Telefone {
+
+    String message() default "Telefone deve estar no formato (XX) XXXXX-XXXX";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
@@ -0,0 +1,87 @@
+package br.edu.ibmec.projeto_cloud.config;
+
+import br.edu.ibmec.projeto_cloud.util.GeracoesPorChave;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.cache.Cache;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CacheConfigTest {
+
+    private final GeracoesPorChave geracoes = new GeracoesPorChave();
+    private Cache cache;
+
+    @BeforeEach
+    public void setup() {
+        CacheProperties propriedades = new CacheProperties();
+        propriedades.setCacheNames(List.of(CacheConfig.CLIENTES));
+        propriedades.getCaffeine().setSpec("maximumSize=10");
+        cache = new CacheConfig().cacheManager(propriedades, geracoes).getCache(CacheConfig.CLIENTES);
+        cache.put(1L, "cliente 1");
+    }
+
+    @AfterEach
+    public void encerrar() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void deveDescartarSoDepoisDoCommit() {
+        // Simula uma transação em andamento
+        TransactionSynchronizationManager.initSynchronization();
+
+        cache.evict(1L);
+        assertEquals("cliente 1", cache.get(1L, String.class));
+
+        TransactionSynchronizationUtils.triggerAfterCommit();
+        assertNull(cache.get(1L));
+    }
+
+    @Test
+    public void deveManterNoCacheQuandoATransacaoFalha() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        cache.evict(1L);
+        TransactionSynchronizationUtils.invokeAfterCompletion(TransactionSynchronizationManager.getSynchronizations(),
+                TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        // Com rollback nada mudou no banco, então o valor em cache continua válido
+        assertEquals("cliente 1", cache.get(1L, String.class));
+    }
+
+    @Test
+    public void deveAvancarAGeracaoQuandoODescarteEAplicado() {
+        TransactionSynchronizationManager.initSynchronization();
+        long antes = geracoes.atual(1L);
+
+        cache.evict(1L);
+        assertEquals(antes, geracoes.atual(1L));
+
+        // Só depois do commit a geração avança, junto com o descarte
+        TransactionSynchronizationUtils.triggerAfterCommit();
+        assertNotEquals(antes, geracoes.atual(1L));
+    }
+
+    @Test
+    public void deveDescartarNaHoraForaDeTransacao() {
+        cache.evict(1L);
+
+        assertNull(cache.get(1L));
+    }
+}
+
+
+// 1. Descarte no Commit: Verifica que, dentro de uma transação, o cliente só sai do cache depois do commit.
+// 1.1 Rollback: Garante que uma escrita desfeita não descarta o cliente do cache.
+// 1.2 Geração: Verifica que o descarte do cache de clientes avança a geração da chave, também só após o commit.
+// 2. Descarte sem Transação: Garante que, fora de transação, o descarte é imediato.
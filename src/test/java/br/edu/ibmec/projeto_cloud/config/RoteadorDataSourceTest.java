@@ -0,0 +1,143 @@
+package br.edu.ibmec.projeto_cloud.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Dois H2 em memória fazem o papel do primário e da réplica; cada um responde com o próprio nome
+public class RoteadorDataSourceTest {
+
+    private EmbeddedDatabase primario;
+    private EmbeddedDatabase replica;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate escrita;
+    private TransactionTemplate leitura;
+
+    @BeforeEach
+    public void setup() {
+        primario = bancoChamado("primario");
+        replica = bancoChamado("replica");
+
+        RoteadorDataSource roteador = new RoteadorDataSource();
+        roteador.setTargetDataSources(Map.of(
+                RoteadorDataSource.Destino.PRIMARIO, primario,
+                RoteadorDataSource.Destino.REPLICA, replica));
+        roteador.setDefaultTargetDataSource(primario);
+        roteador.afterPropertiesSet();
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(roteador);
+
+        jdbc = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        escrita = new TransactionTemplate(transactionManager);
+        leitura = new TransactionTemplate(transactionManager);
+        leitura.setReadOnly(true);
+    }
+
+    @AfterEach
+    public void encerrar() {
+        RoteadorDataSource.liberar();
+        primario.shutdown();
+        replica.shutdown();
+    }
+
+    @Test
+    public void deveLerDaReplicaEEscreverNoPrimario() {
+        assertEquals("replica", leitura.execute(status -> origem()));
+        assertEquals("primario", escrita.execute(status -> origem()));
+        // Fora de transação também vai ao primário
+        assertEquals("primario", origem());
+    }
+
+    @Test
+    public void deveLerDoPrimarioQuandoARequisicaoExigir() {
+        RoteadorDataSource.exigirPrimario();
+
+        assertEquals("primario", leitura.execute(status -> origem()));
+    }
+
+    @Test
+    public void deveCarregarDoPrimarioOQueVaiParaOCache() {
+        assertEquals("primario", RoteadorDataSource.executarNoPrimario(() -> leitura.execute(status -> origem())));
+        // Terminada a carga, as leituras voltam para a réplica
+        assertEquals("replica", leitura.execute(status -> origem()));
+
+        // Uma requisição que já exigia o primário continua nele depois da carga
+        RoteadorDataSource.exigirPrimario();
+        RoteadorDataSource.executarNoPrimario(() -> leitura.execute(status -> origem()));
+        assertEquals("primario", leitura.execute(status -> origem()));
+    }
+
+    @Test
+    public void deveDevolverCookieEUsarPrimarioNaEscrita() throws Exception {
+        LeituraAposEscritaFilter filtro = new LeituraAposEscritaFilter(5000);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        String origem = filtrar(filtro, new MockHttpServletRequest("POST", "/enderecos"), response);
+
+        assertEquals("primario", origem);
+        Cookie cookie = response.getCookie(LeituraAposEscritaFilter.COOKIE);
+        assertNotNull(cookie);
+        assertTrue(Long.parseLong(cookie.getValue()) > System.currentTimeMillis());
+        assertEquals(5, cookie.getMaxAge());
+    }
+
+    @Test
+    public void deveLerDoPrimarioLogoAposUmaEscrita() throws Exception {
+        LeituraAposEscritaFilter filtro = new LeituraAposEscritaFilter(5000);
+        MockHttpServletRequest recente = new MockHttpServletRequest("GET", "/clientes/1");
+        recente.setCookies(new Cookie(LeituraAposEscritaFilter.COOKIE, Long.toString(System.currentTimeMillis() + 5000)));
+        MockHttpServletRequest expirado = new MockHttpServletRequest("GET", "/clientes/1");
+        expirado.setCookies(new Cookie(LeituraAposEscritaFilter.COOKIE, Long.toString(System.currentTimeMillis() - 1)));
+
+        assertEquals("primario", filtrar(filtro, recente, new MockHttpServletResponse()));
+        assertEquals("replica", filtrar(filtro, expirado, new MockHttpServletResponse()));
+        assertEquals("replica", filtrar(filtro, new MockHttpServletRequest("GET", "/clientes/1"),
+                new MockHttpServletResponse()));
+    }
+
+    // Executa uma leitura somente leitura dentro da requisição e devolve o banco que a atendeu
+    private String filtrar(LeituraAposEscritaFilter filtro, MockHttpServletRequest request,
+            MockHttpServletResponse response) throws Exception {
+        AtomicReference<String> origem = new AtomicReference<>();
+        FilterChain chain = (req, res) -> origem.set(leitura.execute(status -> origem()));
+        filtro.doFilter(request, response, chain);
+        return origem.get();
+    }
+
+    private String origem() {
+        return jdbc.queryForObject("select nome from origem", String.class);
+    }
+
+    private static EmbeddedDatabase bancoChamado(String nome) {
+        EmbeddedDatabase banco = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .setName(nome + "_" + System.nanoTime())
+                .build();
+        new JdbcTemplate(banco).execute("create table origem (nome varchar(20))");
+        new JdbcTemplate(banco).update("insert into origem (nome) values (?)", nome);
+        return banco;
+    }
+}
+
+
+// 1. Leitura na Réplica: Verifica que transações somente leitura vão para a réplica e o restante para o primário.
+// 2. Primário Obrigatório: Garante que, marcada a requisição, até as leituras vão ao primário.
+// 2.1 Carga para o Cache: Verifica que as cargas que preenchem os caches leem do primário sem mudar o destino das leituras seguintes.
+// 3. Cookie na Escrita: Verifica que uma escrita usa o primário e devolve o cookie com o prazo da janela.
+// 4. Leitura Após Escrita: Verifica que o cookie dentro do prazo leva a leitura ao primário e, vencido ou ausente, à réplica.
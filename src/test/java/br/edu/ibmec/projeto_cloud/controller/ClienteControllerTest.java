@@ -1,8 +1,17 @@
 package br.edu.ibmec.projeto_cloud.controller;
 
+import br.edu.ibmec.projeto_cloud.config.FormatosBinariosConfig;
+import br.edu.ibmec.projeto_cloud.dto.ClientePatch;
+import br.edu.ibmec.projeto_cloud.dto.ClienteResumo;
+import br.edu.ibmec.projeto_cloud.dto.ItemCliente;
+import br.edu.ibmec.projeto_cloud.dto.Pagina;
+import br.edu.ibmec.projeto_cloud.exception.ClienteNaoEncontradoException;
+import br.edu.ibmec.projeto_cloud.exception.RequisicaoInvalidaException;
 import br.edu.ibmec.projeto_cloud.model.Cliente;
 import br.edu.ibmec.projeto_cloud.service.ClienteService;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 // import org.mockito.InjectMocks;
@@ -10,19 +19,31 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDate;
+import java.io.OutputStream;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(ClienteController.class)
+@Import(FormatosBinariosConfig.class)
 public class ClienteControllerTest {
 
     @Autowired
@@ -42,9 +63,10 @@ public class ClienteControllerTest {
         cliente.setId(1L);
         cliente.setNome("João Silva");
         cliente.setEmail("joao.silva@gmail.com");
-        cliente.setCpf("123.456.789-00");
+        cliente.setCpf("123.456.789-09");
         cliente.setTelefone("(11) 99999-9999");
         cliente.setDataNascimento(LocalDate.of(1990, 5, 10));
+        cliente.setVersao(3L);
     }
 
     @Test
@@ -61,12 +83,51 @@ public class ClienteControllerTest {
                 .andExpect(jsonPath("$.email").value("joao.silva@gmail.com"));
     }
 
+    @Test
+    public void deveAdicionarClientesEmLoteComSucesso() throws Exception {
+        when(clienteService.salvarClientes(anyList())).thenReturn(List.of(cliente));
+
+        String json = objectMapper.writeValueAsString(List.of(cliente));
+
+        mockMvc.perform(post("/clientes/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$[0].nome").value("João Silva"));
+    }
+
+    @Test
+    public void deveRejeitarLoteComClienteInvalido() throws Exception {
+        Cliente invalido = new Cliente();
+        invalido.setNome("Jo");
+        invalido.setEmail("email-invalido");
+
+        String json = objectMapper.writeValueAsString(List.of(cliente, invalido));
+
+        mockMvc.perform(post("/clientes/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void deveRejeitarClienteComDigitoVerificadorInvalido() throws Exception {
+        cliente.setCpf("123.456.789-00");
+
+        String json = objectMapper.writeValueAsString(cliente);
+
+        mockMvc.perform(post("/clientes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     public void deveAtualizarClienteComSucesso() throws Exception {
         Cliente clienteAtualizado = new Cliente();
         clienteAtualizado.setNome("João Atualizado");
         clienteAtualizado.setEmail("joao.atualizado@gmail.com");
-        clienteAtualizado.setCpf("123.456.789-00"); // Incluindo CPF
+        clienteAtualizado.setCpf("123.456.789-09"); // Incluindo CPF
         clienteAtualizado.setTelefone("(11) 99999-9999"); // Incluindo telefone
         clienteAtualizado.setDataNascimento(LocalDate.of(1990, 5, 10)); // Incluindo data de nascimento
     
@@ -82,15 +143,161 @@ public class ClienteControllerTest {
                 .andExpect(jsonPath("$.email").value("joao.atualizado@gmail.com"));
     }
     
+    @Test
+    public void deveAtualizarClienteParcialmenteComIfMatch() throws Exception {
+        cliente.setNome("João Atualizado");
+        cliente.setVersao(4L);
+        when(clienteService.atualizarParcialmente(eq(1L), any(ClientePatch.class), eq(3L))).thenReturn(cliente);
+
+        mockMvc.perform(patch("/clientes/1")
+                        .header("If-Match", "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nome\":\"João Atualizado\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""))
+                .andExpect(jsonPath("$.nome").value("João Atualizado"));
+    }
+
+    @Test
+    public void deveRetornarConflictQuandoVersaoMudou() throws Exception {
+        when(clienteService.atualizarParcialmente(eq(1L), any(ClientePatch.class), eq(2L)))
+                .thenThrow(new OptimisticLockingFailureException("O cliente foi alterado por outra requisição."));
+
+        mockMvc.perform(patch("/clientes/1")
+                        .header("If-Match", "\"2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"telefone\":\"(21) 98888-8888\"}"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    public void deveRetornarNotFoundAoAtualizarClienteInexistente() throws Exception {
+        when(clienteService.atualizarCliente(eq(9L), any(Cliente.class))).thenThrow(new ClienteNaoEncontradoException());
+
+        mockMvc.perform(put("/clientes/9")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(cliente)))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.detail").value("Cliente não encontrado"));
+    }
+
+    @Test
+    public void deveRetornarBadRequestQuandoCursorInvalido() throws Exception {
+        when(clienteService.listarClientes("xyz", 20)).thenThrow(new RequisicaoInvalidaException("Cursor inválido"));
+
+        mockMvc.perform(get("/clientes").param("cursor", "xyz"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail").value("Cursor inválido"));
+    }
+
     @Test
     public void deveListarTodosOsClientes() throws Exception {
-        when(clienteService.listarClientes()).thenReturn(Arrays.asList(cliente));
+        when(clienteService.listarClientes(null, 20)).thenReturn(new Pagina<>(Arrays.asList(cliente), null));
 
         mockMvc.perform(get("/clientes")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].nome").value("João Silva"))
-                .andExpect(jsonPath("$[0].email").value("joao.silva@gmail.com"));
+                .andExpect(jsonPath("$.itens[0].nome").value("João Silva"))
+                .andExpect(jsonPath("$.itens[0].email").value("joao.silva@gmail.com"))
+                .andExpect(jsonPath("$.next").doesNotExist());
+    }
+
+    @Test
+    public void deveRepassarCursorELimiteNaListagem() throws Exception {
+        when(clienteService.listarClientes("MQ", 1)).thenReturn(new Pagina<>(List.of(cliente), "Mg"));
+
+        mockMvc.perform(get("/clientes")
+                        .param("cursor", "MQ")
+                        .param("limit", "1")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itens[0].id").value(1L))
+                .andExpect(jsonPath("$.next").value("Mg"));
+    }
+
+    @Test
+    public void deveBuscarVariosClientesNaOrdemPedida() throws Exception {
+        when(clienteService.buscarClientesPorIds(List.of(9L, 1L)))
+                .thenReturn(List.of(ItemCliente.de(9L, null), ItemCliente.de(1L, cliente)));
+
+        mockMvc.perform(get("/clientes").param("ids", "9,1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(9))
+                .andExpect(jsonPath("$[0].encontrado").value(false))
+                .andExpect(jsonPath("$[0].cliente").doesNotExist())
+                .andExpect(jsonPath("$[1].encontrado").value(true))
+                .andExpect(jsonPath("$[1].cliente.nome").value("João Silva"));
+    }
+
+    @Test
+    public void deveListarResumosDosClientes() throws Exception {
+        ClienteResumo resumo = new ClienteResumo(1L, "João Silva", "joao.silva@gmail.com", "123.456.789-09",
+                "(11) 99999-9999", LocalDate.of(1990, 5, 10));
+        when(clienteService.listarResumos(null, 20)).thenReturn(new Pagina<>(List.of(resumo), null));
+
+        mockMvc.perform(get("/clientes/resumo"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itens[0].nome").value("João Silva"))
+                .andExpect(jsonPath("$.itens[0].enderecos").doesNotExist());
+    }
+
+    @Test
+    public void deveListarSoOsCamposPedidos() throws Exception {
+        Map<String, Object> campos = new LinkedHashMap<>();
+        campos.put("id", 1L);
+        campos.put("nome", "João Silva");
+        campos.put("email", "joao.silva@gmail.com");
+        when(clienteService.listarCampos("nome,email", null, 20)).thenReturn(new Pagina<>(List.of(campos), null));
+        when(clienteService.buscarCamposPorId(1L, "nome,email")).thenReturn(Optional.of(campos));
+        when(clienteService.buscarCamposPorId(9L, "nome,email")).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/clientes").param("fields", "nome,email"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itens[0].email").value("joao.silva@gmail.com"))
+                .andExpect(jsonPath("$.itens[0].cpf").doesNotExist())
+                .andExpect(jsonPath("$.itens[0].enderecos").doesNotExist());
+        mockMvc.perform(get("/clientes/1").param("fields", "nome,email"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nome").value("João Silva"))
+                .andExpect(jsonPath("$.dataNascimento").doesNotExist());
+        mockMvc.perform(get("/clientes/9").param("fields", "nome,email"))
+                .andExpect(status().isNotFound());
+        verify(clienteService, never()).listarClientes(any(), anyInt());
+        verify(clienteService, never()).buscarClientePorId(any());
+    }
+
+    @Test
+    public void deveExportarClientesEmNdjson() throws Exception {
+        doAnswer(invocation -> {
+            OutputStream saida = invocation.getArgument(0);
+            saida.write("{\"id\":1}\n{\"id\":2}\n".getBytes());
+            return 2L;
+        }).when(clienteService).exportarClientes(any(OutputStream.class));
+
+        mockMvc.perform(get("/clientes/export"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"id\":1}\n{\"id\":2}\n"));
+    }
+
+    @Test
+    public void deveAdicionarClienteEmSmile() throws Exception {
+        when(clienteService.salvarCliente(any(Cliente.class))).thenAnswer(invocacao -> invocacao.getArgument(0));
+        ObjectMapper smile = new ObjectMapper(new SmileFactory());
+        MediaType tipoSmile = MediaType.parseMediaType("application/x-jackson-smile");
+
+        byte[] corpo = mockMvc.perform(post("/clientes")
+                        .contentType(tipoSmile)
+                        .accept(tipoSmile)
+                        .content(smile.writeValueAsBytes(objectMapper.valueToTree(cliente))))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(tipoSmile))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // A data sai no formato ISO, como no JSON: o conversor usa a configuração do Spring Boot
+        JsonNode resposta = smile.readTree(corpo);
+        assertEquals("João Silva", resposta.get("nome").asText());
+        assertEquals("1990-05-10", resposta.get("dataNascimento").asText());
     }
 
     @Test
@@ -100,10 +307,58 @@ public class ClienteControllerTest {
         mockMvc.perform(get("/clientes/1")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(header().string("Vary", "Accept"))
                 .andExpect(jsonPath("$.nome").value("João Silva"))
                 .andExpect(jsonPath("$.email").value("joao.silva@gmail.com"));
     }
 
+    @Test
+    public void deveUsarEtagDiferenteParaCadaFormato() throws Exception {
+        when(clienteService.buscarVersao(1L)).thenReturn(Optional.of(3L));
+        when(clienteService.buscarClientePorId(1L)).thenReturn(Optional.of(cliente));
+
+        // A ETag do JSON não vale para o Smile: o corpo em Smile é enviado com a ETag própria
+        mockMvc.perform(get("/clientes/1")
+                        .accept(MediaType.parseMediaType("application/x-jackson-smile"))
+                        .header("If-None-Match", "\"3\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3-smile\""))
+                .andExpect(header().string("Vary", "Accept"));
+
+        mockMvc.perform(get("/clientes/1")
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .header("If-None-Match", "\"3-cbor\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"3-cbor\""))
+                .andExpect(header().string("Vary", "Accept"));
+    }
+
+    @Test
+    public void deveRetornarNotModifiedQuandoEtagNaoMudou() throws Exception {
+        when(clienteService.buscarVersao(1L)).thenReturn(Optional.of(3L));
+
+        mockMvc.perform(get("/clientes/1")
+                        .header("If-None-Match", "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(content().string(""));
+
+        verify(clienteService, never()).buscarClientePorId(any());
+    }
+
+    @Test
+    public void deveRetornarClienteQuandoEtagMudou() throws Exception {
+        when(clienteService.buscarVersao(1L)).thenReturn(Optional.of(3L));
+        when(clienteService.buscarClientePorId(1L)).thenReturn(Optional.of(cliente));
+
+        mockMvc.perform(get("/clientes/1")
+                        .header("If-None-Match", "\"2\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(jsonPath("$.nome").value("João Silva"));
+    }
+
     @Test
     public void deveRetornarNotFoundQuandoClienteNaoExistir() throws Exception {
         when(clienteService.buscarClientePorId(1L)).thenReturn(Optional.empty());
@@ -119,12 +374,37 @@ public class ClienteControllerTest {
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNoContent());
     }
+
+    @Test
+    public void deveRemoverVariosClientesComSucesso() throws Exception {
+        mockMvc.perform(delete("/clientes").param("ids", "1,2,3"))
+                .andExpect(status().isNoContent());
+
+        verify(clienteService).removerClientes(List.of(1L, 2L, 3L));
+    }
 }
 
 
 // 1. deveAdicionarClienteComSucesso: Testa se um novo cliente é adicionado corretamente com o status HTTP 201 Created.
+// 1.1 deveAdicionarClientesEmLoteComSucesso: Testa a criação em lote com o status HTTP 201 Created.
+// 1.2 deveRejeitarLoteComClienteInvalido: Garante que o lote é rejeitado com 400 quando algum cliente é inválido.
+// 1.3 deveRejeitarClienteComDigitoVerificadorInvalido: Garante que um CPF no formato certo, mas com dígitos verificadores errados, é rejeitado com 400.
 // 2. deveAtualizarClienteComSucesso: Verifica se o cliente pode ser atualizado corretamente, garantindo que os campos modificados sejam refletidos no resultado.
+// 2.1 deveAtualizarClienteParcialmenteComIfMatch: Testa o PATCH com If-Match, que devolve o cliente e a nova ETag.
+// 2.2 deveRetornarConflictQuandoVersaoMudou: Garante que um conflito de versão resulta em 409 Conflict.
+// 2.3 deveRetornarNotFoundAoAtualizarClienteInexistente: Garante que atualizar um cliente inexistente resulta em 404 Not Found.
+// 2.4 deveRetornarBadRequestQuandoCursorInvalido: Garante que um dado inválido da requisição resulta em 400 Bad Request.
 // 3. deveListarTodosOsClientes: Testa a listagem de todos os clientes, verificando que o conteúdo da resposta contém as informações esperadas.
+// 3.1 deveRepassarCursorELimiteNaListagem: Verifica se o cursor e o limite chegam ao serviço e se o próximo cursor é devolvido.
+// 3.1.1 deveBuscarVariosClientesNaOrdemPedida: Verifica a busca por vários IDs, com a ordem pedida e a marcação dos não encontrados.
+// 3.1.2 deveListarResumosDosClientes: Verifica a listagem resumida, sem os endereços.
+// 3.1.3 deveListarSoOsCamposPedidos: Verifica que fields= devolve só os campos pedidos na listagem e na busca por ID.
+// 3.2 deveExportarClientesEmNdjson: Verifica se a exportação é escrita diretamente na resposta no formato NDJSON.
+// 3.3 deveAdicionarClienteEmSmile: Verifica que o cliente é lido e devolvido em Smile quando pedido por Content-Type e Accept.
 // 4. deveBuscarClientePorIdComSucesso: Garante que um cliente pode ser buscado corretamente pelo ID e retorna o status HTTP 200 OK.
+// 4.1 deveRetornarNotModifiedQuandoEtagNaoMudou: Garante que If-None-Match com a versão atual devolve 304 sem carregar o cliente.
+// 4.2 deveRetornarClienteQuandoEtagMudou: Garante que uma ETag antiga recebe o cliente completo com a nova ETag.
+// 4.3 deveUsarEtagDiferenteParaCadaFormato: Garante que JSON, Smile e CBOR têm ETags próprias e que a resposta varia com o Accept.
 // 5. deveRetornarNotFoundQuandoClienteNaoExistir: Verifica se o controller retorna 404 Not Found quando o cliente com o ID fornecido não existe.
-// 6. deveRemoverClienteComSucesso: Testa a remoção de um cliente, garantindo que a resposta seja 204 No Content.
\ No newline at end of file
+// 6. deveRemoverClienteComSucesso: Testa a remoção de um cliente, garantindo que a resposta seja 204 No Content.
+// 6.1 deveRemoverVariosClientesComSucesso: Testa a remoção de vários clientes por ID, também com 204 No Content.
\ No newline at end of file
@@ -1,28 +1,40 @@
 package br.edu.ibmec.projeto_cloud.controller;
 
+import br.edu.ibmec.projeto_cloud.config.FormatosBinariosConfig;
+import br.edu.ibmec.projeto_cloud.exception.EnderecoNaoPertenceAoClienteException;
 import br.edu.ibmec.projeto_cloud.model.Cliente;
 import br.edu.ibmec.projeto_cloud.model.Endereco;
 import br.edu.ibmec.projeto_cloud.service.EnderecoService;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 //import org.mockito.InjectMocks;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(EnderecoController.class)
+@Import(FormatosBinariosConfig.class)
 public class EnderecoControllerTest {
 
     @Autowired
@@ -87,6 +99,36 @@ public class EnderecoControllerTest {
                 .andExpect(jsonPath("$[0].cliente.id").value(1L));
     }
 
+    @Test
+    public void deveListarEnderecosPorClienteEmCbor() throws Exception {
+        when(enderecoService.buscarVersaoDosEnderecos(1L)).thenReturn(Optional.of(5L));
+        when(enderecoService.listarEnderecosPorCliente(1L)).thenReturn(List.of(endereco));
+
+        byte[] corpo = mockMvc.perform(get("/enderecos/cliente/1")
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string("ETag", "\"5-cbor\""))
+                .andExpect(header().string("Vary", "Accept"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode enderecos = new ObjectMapper(new CBORFactory()).readTree(corpo);
+        assertEquals("Rua Exemplo", enderecos.get(0).get("rua").asText());
+        assertEquals(1L, enderecos.get(0).get("cliente").get("id").asLong());
+    }
+
+    @Test
+    public void deveRetornarNotModifiedQuandoEnderecosNaoMudaram() throws Exception {
+        when(enderecoService.buscarVersaoDosEnderecos(1L)).thenReturn(Optional.of(5L));
+
+        mockMvc.perform(get("/enderecos/cliente/1")
+                        .header("If-None-Match", "\"5\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(enderecoService, never()).listarEnderecosPorCliente(anyLong());
+    }
+
     @Test
     public void deveAtualizarEnderecoComSucesso() throws Exception {
         Endereco enderecoAtualizado = new Endereco();
@@ -117,4 +159,23 @@ public class EnderecoControllerTest {
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNoContent());
     }
+
+    @Test
+    public void deveRetornarForbiddenQuandoEnderecoPertenceAOutroCliente() throws Exception {
+        doThrow(new EnderecoNaoPertenceAoClienteException()).when(enderecoService).removerEnderecoPorCliente(1L, 2L);
+
+        mockMvc.perform(delete("/enderecos/1/2")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.detail").value("Endereço não pertence ao cliente informado."));
+    }
+
+    @Test
+    public void deveRetornarNotFoundQuandoEnderecoNaoExiste() throws Exception {
+        doThrow(new EntityNotFoundException("Endereço não encontrado")).when(enderecoService).removerEnderecoPorCliente(1L, 9L);
+
+        mockMvc.perform(delete("/enderecos/1/9")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound());
+    }
 }
@@ -0,0 +1,72 @@
+package br.edu.ibmec.projeto_cloud.metricas;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+public class MetricasRequisicaoInterceptorTest {
+
+    @Mock
+    private ObjectProvider<MeterRegistry> meterRegistryProvider;
+
+    private SimpleMeterRegistry meterRegistry;
+    private MetricasRequisicaoInterceptor interceptor;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        when(meterRegistryProvider.getIfAvailable()).thenReturn(meterRegistry);
+        interceptor = new MetricasRequisicaoInterceptor(meterRegistryProvider);
+    }
+
+    @Test
+    public void deveRegistrarComandosEEntidadesPorEndpoint() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/clientes/1");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/clientes/{id}");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        interceptor.preHandle(request, response, null);
+        OuvinteSessaoHibernate ouvinte = new OuvinteSessaoHibernate();
+        ouvinte.jdbcExecuteStatementStart();
+        ouvinte.jdbcExecuteStatementEnd();
+        ouvinte.jdbcExecuteBatchStart();
+        ouvinte.jdbcExecuteBatchEnd();
+        ContadorCargaEntidades contador = new ContadorCargaEntidades();
+        contador.onLoad(new Object(), 1L, null, null, null);
+        contador.onLoad(new Object(), 2L, null, null, null);
+        contador.onLoad(new Object(), 3L, null, null, null);
+        interceptor.afterCompletion(request, response, null, null);
+
+        DistributionSummary comandos = meterRegistry.get("http.server.requests.sql.comandos")
+                .tag("uri", "/clientes/{id}").tag("method", "GET").summary();
+        DistributionSummary entidades = meterRegistry.get("http.server.requests.entidades")
+                .tag("uri", "/clientes/{id}").summary();
+        assertEquals(1, comandos.count());
+        assertEquals(2, comandos.totalAmount());
+        assertEquals(3, entidades.totalAmount());
+        assertEquals(1, meterRegistry.get("http.server.requests.sql.tempo").timer().count());
+    }
+
+    @Test
+    public void naoDeveContarForaDeUmaRequisicao() {
+        new OuvinteSessaoHibernate().jdbcExecuteStatementEnd();
+        new ContadorCargaEntidades().onLoad(new Object(), 1L, null, null, null);
+
+        assertNull(EstatisticasRequisicao.encerrar());
+    }
+}
+
+// 1. Registrar Comandos e Entidades por Endpoint: Os comandos SQL (consultas e lotes) e as entidades carregadas durante a requisição são publicados com as tags do endpoint.
+// 2. Não Contar Fora de uma Requisição: Fora de uma requisição HTTP (ex.: jobs agendados) nada é acumulado.
@@ -0,0 +1,45 @@
+package br.edu.ibmec.projeto_cloud.model.converter;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConversoresTest {
+
+    private final CpfConverter cpfConverter = new CpfConverter();
+    private final TelefoneConverter telefoneConverter = new TelefoneConverter();
+    private final CepConverter cepConverter = new CepConverter();
+
+    @Test
+    public void deveGravarCpfComoNumeroEDevolverFormatado() {
+        assertEquals(52998224725L, cpfConverter.convertToDatabaseColumn("529.982.247-25"));
+        assertEquals("529.982.247-25", cpfConverter.convertToEntityAttribute(52998224725L));
+    }
+
+    @Test
+    public void devePreservarZerosAEsquerda() {
+        // CPFs e CEPs começando com zero perdem esses dígitos no número
+        assertEquals(1234567890L, cpfConverter.convertToDatabaseColumn("012.345.678-90"));
+        assertEquals("012.345.678-90", cpfConverter.convertToEntityAttribute(1234567890L));
+        assertEquals(1310100, cepConverter.convertToDatabaseColumn("01310-100"));
+        assertEquals("01310-100", cepConverter.convertToEntityAttribute(1310100));
+    }
+
+    @Test
+    public void deveGravarTelefoneComoNumeroEDevolverFormatado() {
+        assertEquals(11999999999L, telefoneConverter.convertToDatabaseColumn("(11) 99999-9999"));
+        assertEquals("(11) 99999-9999", telefoneConverter.convertToEntityAttribute(11999999999L));
+    }
+
+    @Test
+    public void deveManterNulos() {
+        assertNull(cpfConverter.convertToDatabaseColumn(null));
+        assertNull(telefoneConverter.convertToEntityAttribute(null));
+        assertNull(cepConverter.convertToDatabaseColumn(null));
+    }
+}
+
+// 1. Gravar CPF como Número: O CPF formatado vira um número no banco e volta no formato XXX.XXX.XXX-XX.
+// 2. Preservar Zeros à Esquerda: CPFs e CEPs que começam com zero voltam completos.
+// 3. Gravar Telefone como Número: O telefone vira um número no banco e volta no formato (XX) XXXXX-XXXX.
+// 4. Manter Nulos: Valores nulos continuam nulos nos dois sentidos.
@@ -0,0 +1,238 @@
+package br.edu.ibmec.projeto_cloud.repository;
+
+import br.edu.ibmec.projeto_cloud.config.CacheSegundoNivelConfig;
+import br.edu.ibmec.projeto_cloud.model.Cliente;
+import br.edu.ibmec.projeto_cloud.model.Endereco;
+import br.edu.ibmec.projeto_cloud.service.ClienteService;
+import br.edu.ibmec.projeto_cloud.service.EnderecoService;
+import br.edu.ibmec.projeto_cloud.validation.CpfValidator;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Sem a transação do teste: cada chamada ao repositório faz o commit da sua, como na aplicação,
+// e só depois do commit o cache de segundo nível e o de consultas passam a valer
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "clientes.cache.segundo-nivel=true"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({EnderecoService.class, CacheSegundoNivelConfig.class})
+public class CacheSegundoNivelTest {
+
+    private static final int ENDERECOS = 3;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private EnderecoRepository enderecoRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EnderecoService enderecoService;
+
+    // Só o EnderecoService é testado aqui; a versão (ETag) do cliente e o cache da aplicação não são usados
+    @MockBean
+    private ClienteService clienteService;
+
+    @MockBean
+    private CacheManager cacheManager;
+
+    private Statistics statistics;
+
+    private Long clienteId;
+
+    @BeforeEach
+    public void setup() {
+        clienteId = clienteRepository.save(novoCliente("cliente.cache@gmail.com", 42)).getId();
+
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+        statistics = sessionFactory.getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    public void limpar() {
+        enderecoRepository.deleteAllInBatch();
+        clienteRepository.deleteAllInBatch();
+    }
+
+    @Test
+    public void deveBuscarClienteComEnderecosSemIrAoBancoNaSegundaVez() {
+        // Execução: a primeira busca vai ao banco e preenche o cache
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        transacao.executeWithoutResult(status ->
+                clienteRepository.findById(clienteId).orElseThrow().getEnderecos().size());
+        long comandosNaPrimeira = statistics.getPrepareStatementCount();
+
+        Integer enderecos = transacao.execute(status ->
+                clienteRepository.findById(clienteId).orElseThrow().getEnderecos().size());
+
+        // Verificações: cliente, lista de endereços e endereços vieram do cache
+        assertEquals(1, comandosNaPrimeira);
+        assertEquals(ENDERECOS, enderecos.intValue());
+        assertEquals(comandosNaPrimeira, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getSecondLevelCacheHitCount() > 0);
+    }
+
+    @Test
+    public void deveTrazerEnderecoNovoAoRecarregarOCliente() {
+        // Execução: o cliente e a lista de endereços entram no cache, um endereço é incluído pelo serviço
+        // e o cliente é carregado de novo
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        transacao.executeWithoutResult(status ->
+                clienteRepository.findById(clienteId).orElseThrow().getEnderecos().size());
+
+        Cliente dono = new Cliente();
+        dono.setId(clienteId);
+        Endereco novo = novoEndereco(ENDERECOS + 1);
+        novo.setCliente(dono);
+        enderecoService.salvarEndereco(novo);
+
+        Integer enderecos = transacao.execute(status ->
+                clienteRepository.findById(clienteId).orElseThrow().getEnderecos().size());
+
+        // Verificações: a lista guardada foi descartada e a nova inclui o endereço
+        assertEquals(ENDERECOS + 1, enderecos.intValue());
+    }
+
+    @Test
+    public void deveTirarEnderecoRemovidoAoRecarregarOCliente() {
+        // Execução: o cliente e a lista de endereços entram no cache, um endereço é removido pelo ID
+        // (DELETE /enderecos/{id}) e o cliente é carregado de novo
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        Long enderecoId = transacao.execute(status ->
+                clienteRepository.findById(clienteId).orElseThrow().getEnderecos().get(0).getId());
+
+        enderecoService.removerEndereco(enderecoId);
+
+        List<Long> enderecos = transacao.execute(status ->
+                clienteRepository.findById(clienteId).orElseThrow().getEnderecos().stream()
+                        .map(Endereco::getId).toList());
+
+        // Verificações: a lista guardada foi descartada e a nova não tem o endereço removido
+        assertEquals(ENDERECOS - 1, enderecos.size());
+        assertFalse(enderecos.contains(enderecoId));
+    }
+
+    @Test
+    public void deveSubirAVersaoDoClienteSemDescartarOsOutros() {
+        // Execução: dois clientes entram no cache, um endereço do primeiro é alterado pelo serviço e os dois são
+        // carregados de novo
+        Long outroId = clienteRepository.save(novoCliente("outro.cache@gmail.com", 43)).getId();
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        Cliente antes = transacao.execute(status -> {
+            clienteRepository.findById(outroId).orElseThrow().getEnderecos().size();
+            Cliente cliente = clienteRepository.findById(clienteId).orElseThrow();
+            cliente.getEnderecos().size();
+            return cliente;
+        });
+
+        Endereco dados = novoEndereco(ENDERECOS + 1);
+        Long enderecoId = antes.getEnderecos().get(0).getId();
+        enderecoService.atualizarEndereco(clienteId, enderecoId, dados);
+
+        Cliente depois = transacao.execute(status -> {
+            Cliente cliente = clienteRepository.findById(clienteId).orElseThrow();
+            cliente.getEnderecos().size();
+            return cliente;
+        });
+        long comandos = statistics.getPrepareStatementCount();
+        transacao.executeWithoutResult(status ->
+                clienteRepository.findById(outroId).orElseThrow().getEnderecos().size());
+
+        // Verificações: a versão e o endereço recarregados são os novos, e o outro cliente continua no cache
+        assertEquals(antes.getVersao() + 1, depois.getVersao().longValue());
+        assertEquals(dados.getRua(), depois.getEnderecos().stream()
+                .filter(endereco -> endereco.getId().equals(enderecoId)).findFirst().orElseThrow().getRua());
+        assertEquals(comandos, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void deveGuardarPaginaNoCacheDeConsultas() {
+        // Execução: a primeira página vai ao banco e preenche o cache de consultas e o das entidades
+        clienteRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(10));
+        long comandosNaPrimeira = statistics.getPrepareStatementCount();
+        List<Cliente> pagina = clienteRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(10));
+
+        // Verificações: a segunda página não vai ao banco
+        assertEquals(clienteId, pagina.get(0).getId());
+        assertEquals(comandosNaPrimeira, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+    }
+
+    @Test
+    public void deveInvalidarVersaoQuandoOClienteMuda() {
+        // Execução: versão em cache, alteração do cliente e a mesma consulta de novo
+        Long versao = clienteRepository.buscarVersao(clienteId).orElseThrow();
+        Cliente cliente = clienteRepository.findById(clienteId).orElseThrow();
+        cliente.setNome("Cliente Alterado");
+        clienteRepository.save(cliente);
+        Long atualizada = clienteRepository.buscarVersao(clienteId).orElseThrow();
+
+        // Verificações: o resultado guardado foi descartado e a ETag nova aparece
+        assertEquals(versao + 1, atualizada.longValue());
+        assertEquals(0, statistics.getQueryCacheHitCount());
+        assertEquals(2, statistics.getQueryCacheMissCount());
+    }
+
+    private static Cliente novoCliente(String email, long cpf) {
+        Cliente cliente = new Cliente();
+        cliente.setNome("Cliente Cache");
+        cliente.setEmail(email);
+        cliente.setCpf(CpfValidator.gerar(cpf));
+        cliente.setTelefone("(11) 99999-9999");
+        cliente.setDataNascimento(LocalDate.of(1990, 1, 1));
+        for (int i = 1; i <= ENDERECOS; i++) {
+            Endereco endereco = novoEndereco(i);
+            endereco.setCliente(cliente);
+            cliente.getEnderecos().add(endereco);
+        }
+        return cliente;
+    }
+
+    private static Endereco novoEndereco(int i) {
+        Endereco endereco = new Endereco();
+        endereco.setRua("Rua " + i);
+        endereco.setNumero(String.valueOf(i));
+        endereco.setBairro("Centro");
+        endereco.setCidade("São Paulo");
+        endereco.setEstado("SP");
+        endereco.setCep("01310-100");
+        return endereco;
+    }
+}
+
+
+// 1. Cliente em Cache: Verifica que a segunda busca do cliente com os endereços não executa nenhum comando SQL.
+// 1.1 Endereço Novo: Garante que, incluído um endereço pelo serviço, o cliente recarregado não vem com a lista antiga do cache.
+// 1.2 Endereço Removido: Garante que, removido um endereço pelo ID, o cliente recarregado não traz o endereço removido da lista em cache.
+// 1.3 Versão do Cliente: Garante que alterar um endereço sobe a versão do cliente em cache sem descartar os outros clientes do cache.
+// 2. Cache de Consultas: Verifica que a mesma página de clientes é atendida pelo cache de consultas e pelo de entidades.
+// 3. Invalidação: Garante que uma alteração do cliente descarta a versão guardada no cache de consultas.
@@ -0,0 +1,185 @@
+package br.edu.ibmec.projeto_cloud.repository;
+
+import br.edu.ibmec.projeto_cloud.dto.ChavesCliente;
+import br.edu.ibmec.projeto_cloud.dto.ClienteResumo;
+import br.edu.ibmec.projeto_cloud.dto.EnderecoResumo;
+import br.edu.ibmec.projeto_cloud.model.Cliente;
+import br.edu.ibmec.projeto_cloud.model.Endereco;
+import br.edu.ibmec.projeto_cloud.validation.CpfValidator;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+public class ClienteRepositoryTest {
+
+    private static final int CLIENTES = 5;
+    private static final int ENDERECOS_POR_CLIENTE = 3;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private EnderecoRepository enderecoRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Statistics statistics;
+
+    private Long primeiroId;
+
+    @BeforeEach
+    public void setup() {
+        for (int i = 1; i <= CLIENTES; i++) {
+            Cliente cliente = novoCliente(i);
+            for (int j = 1; j <= ENDERECOS_POR_CLIENTE; j++) {
+                Endereco endereco = novoEndereco(j);
+                endereco.setCliente(cliente);
+                cliente.getEnderecos().add(endereco);
+            }
+            entityManager.persist(cliente);
+            if (primeiroId == null) {
+                primeiroId = cliente.getId();
+            }
+        }
+        // Esvazia o contexto de persistência para que as consultas abaixo realmente vão ao banco
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    public void deveCarregarPaginaComEnderecosEmQuantidadeConstanteDeConsultas() {
+        // Execução: percorre os endereços como o Jackson faz na serialização
+        List<Cliente> pagina = clienteRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(CLIENTES));
+        pagina.forEach(cliente -> cliente.getEnderecos().size());
+
+        // Verificações: uma consulta para a página e uma para os endereços de todos os clientes
+        assertEquals(CLIENTES, pagina.size());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void deveBuscarClienteComEnderecosEmUmaConsulta() {
+        // Execução
+        Cliente cliente = clienteRepository.findById(primeiroId).orElseThrow();
+        int enderecos = cliente.getEnderecos().size();
+
+        // Verificações
+        assertEquals(ENDERECOS_POR_CLIENTE, enderecos);
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void deveBuscarChavesExistentesEmUmaConsulta() {
+        // Execução: um email e um CPF cadastrados (de clientes diferentes) e um email novo
+        List<ChavesCliente> existentes = clienteRepository.buscarChavesExistentes(
+                List.of("cliente1@gmail.com", "novo@gmail.com"), List.of(CpfValidator.gerar(2)));
+
+        // Verificações
+        assertEquals(2, existentes.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void deveListarResumosSemCarregarEntidades() {
+        // Execução
+        List<ClienteResumo> resumos = clienteRepository.buscarResumosAposId(0L, Limit.of(CLIENTES));
+        List<EnderecoResumo> enderecos = enderecoRepository.buscarResumosPorClienteId(primeiroId);
+
+        // Verificações: uma consulta para cada lista e nenhuma entidade carregada
+        assertEquals(CLIENTES, resumos.size());
+        assertEquals(CpfValidator.gerar(1), resumos.get(0).cpf());
+        assertEquals(ENDERECOS_POR_CLIENTE, enderecos.size());
+        assertEquals(primeiroId, enderecos.get(0).clienteId());
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    public void deveBuscarSoOsCamposPedidosSemCarregarEntidades() {
+        // Execução
+        List<Map<String, Object>> pagina = clienteRepository.buscarCamposAposId(List.of("nome", "cpf"), 0L, Limit.of(2));
+        Map<String, Object> cliente = clienteRepository.buscarCamposPorId(List.of("email"), primeiroId).orElseThrow();
+
+        // Verificações: uma consulta para cada busca, nenhuma entidade e o CPF já formatado pelo conversor
+        assertEquals(2, pagina.size());
+        assertEquals(List.of("id", "nome", "cpf"), List.copyOf(pagina.get(0).keySet()));
+        assertEquals(primeiroId, pagina.get(0).get("id"));
+        assertEquals(CpfValidator.gerar(1), pagina.get(0).get("cpf"));
+        assertEquals(Map.of("id", primeiroId, "email", "cliente1@gmail.com"), cliente);
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    public void deveBuscarPorCpfFormatadoGravadoComoNumero() {
+        // Execução: o CPF é informado formatado e comparado com a coluna numérica
+        Cliente cliente = clienteRepository.findByCpf(CpfValidator.gerar(3)).orElseThrow();
+
+        // Verificações: os valores voltam formatados
+        assertEquals("cliente3@gmail.com", cliente.getEmail());
+        assertEquals(CpfValidator.gerar(3), cliente.getCpf());
+        assertEquals("(11) 99999-9993", cliente.getTelefone());
+        assertTrue(cliente.getEnderecos().stream().anyMatch(endereco -> "01310-101".equals(endereco.getCep())));
+    }
+
+    @Test
+    public void deveRemoverClientesEEnderecosComUmComandoCada() {
+        List<Long> ids = clienteRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(2)).stream()
+                .map(Cliente::getId).toList();
+        entityManager.clear();
+        statistics.clear();
+
+        // Execução
+        int enderecosRemovidos = enderecoRepository.removerDosClientes(ids);
+        int clientesRemovidos = clienteRepository.removerPorIds(ids);
+
+        // Verificações: dois DELETEs, nenhuma entidade carregada e os demais clientes intactos
+        assertEquals(2 * ENDERECOS_POR_CLIENTE, enderecosRemovidos);
+        assertEquals(2, clientesRemovidos);
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(CLIENTES - 2, clienteRepository.count());
+        assertEquals((CLIENTES - 2) * ENDERECOS_POR_CLIENTE, enderecoRepository.count());
+    }
+
+    private Cliente novoCliente(int i) {
+        Cliente cliente = new Cliente();
+        cliente.setNome("Cliente " + i);
+        cliente.setEmail("cliente" + i + "@gmail.com");
+        cliente.setCpf(CpfValidator.gerar(i));
+        cliente.setTelefone("(11) 99999-999" + (i % 10));
+        cliente.setDataNascimento(LocalDate.of(1990, 1, 1));
+        return cliente;
+    }
+
+    private Endereco novoEndereco(int j) {
+        Endereco endereco = new Endereco();
+        endereco.setRua("Rua " + j);
+        endereco.setNumero(String.valueOf(j));
+        endereco.setBairro("Centro");
+        endereco.setCidade("São Paulo");
+        endereco.setEstado("SP");
+        endereco.setCep("01310-10" + (j % 10));
+        return endereco;
+    }
+}
@@ -1,15 +1,49 @@
 package br.edu.ibmec.projeto_cloud.service;
 
+import br.edu.ibmec.projeto_cloud.dto.ChavesCliente;
+import br.edu.ibmec.projeto_cloud.dto.ClienteEmCache;
+import br.edu.ibmec.projeto_cloud.dto.ClientePatch;
+import br.edu.ibmec.projeto_cloud.dto.ClienteResumo;
+import br.edu.ibmec.projeto_cloud.dto.EnderecoResumo;
+import br.edu.ibmec.projeto_cloud.dto.ItemCliente;
+import br.edu.ibmec.projeto_cloud.dto.Pagina;
+import br.edu.ibmec.projeto_cloud.exception.ClienteNaoEncontradoException;
 import br.edu.ibmec.projeto_cloud.model.Cliente;
+import br.edu.ibmec.projeto_cloud.model.Endereco;
 import br.edu.ibmec.projeto_cloud.repository.ClienteRepository;
+import br.edu.ibmec.projeto_cloud.repository.EnderecoRepository;
+import br.edu.ibmec.projeto_cloud.util.CargaUnica;
+import br.edu.ibmec.projeto_cloud.util.GeracoesPorChave;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-
+import org.mockito.Spy;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -19,12 +53,32 @@ public class ClienteServiceTest {
     @Mock
     private ClienteRepository clienteRepository;
 
+    @Mock
+    private EnderecoRepository enderecoRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private FiltroUnicidadeCliente filtroUnicidade;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Spy
+    private GeracoesPorChave geracoesClientes = new GeracoesPorChave();
+
     @InjectMocks
     private ClienteService clienteService;
 
     @BeforeEach
     public void setup() {
         MockitoAnnotations.openMocks(this);
+        // Por padrão o filtro de unicidade responde "talvez exista", obrigando a consulta ao banco
+        when(filtroUnicidade.talvezExista(anyString(), anyString())).thenReturn(true);
     }
 
     @Test
@@ -33,20 +87,54 @@ public class ClienteServiceTest {
         Cliente cliente = new Cliente();
         cliente.setNome("João Silva");
         cliente.setEmail("joao.silva@gmail.com");
-        cliente.setCpf("123.456.789-00");
+        cliente.setCpf("123.456.789-09");
         cliente.setDataNascimento(LocalDate.of(1990, 5, 10));
 
-        when(clienteRepository.findByEmail(cliente.getEmail())).thenReturn(Optional.empty());
-        when(clienteRepository.findByCpf(cliente.getCpf())).thenReturn(Optional.empty());
+        when(clienteRepository.buscarChavesExistentes(List.of(cliente.getEmail()), List.of(cliente.getCpf())))
+                .thenReturn(List.of());
         when(clienteRepository.save(cliente)).thenReturn(cliente);
 
         // Execução
         Cliente resultado = clienteService.salvarCliente(cliente);
 
-        // Verificações
+        // Verificações: uma única consulta de unicidade antes do INSERT
         assertNotNull(resultado);
         assertEquals("João Silva", resultado.getNome());
+        verify(clienteRepository, times(1)).buscarChavesExistentes(anyCollection(), anyCollection());
+        verify(clienteRepository, never()).findByEmail(anyString());
+        verify(clienteRepository, never()).findByCpf(anyString());
+        verify(clienteRepository, times(1)).save(cliente);
+        verify(filtroUnicidade).registrar(cliente.getEmail(), cliente.getCpf());
+    }
+
+    @Test
+    public void deveSalvarClienteSemConsultarBancoQuandoFiltroDescartaChaves() {
+        // Dados de entrada: email e CPF com certeza ainda não cadastrados
+        Cliente cliente = novoCliente("joao.silva@gmail.com", "123.456.789-09");
+
+        when(filtroUnicidade.talvezExista(cliente.getEmail(), cliente.getCpf())).thenReturn(false);
+        when(clienteRepository.save(cliente)).thenReturn(cliente);
+
+        // Execução
+        Cliente resultado = clienteService.salvarCliente(cliente);
+
+        // Verificações: nenhuma consulta de unicidade, apenas o INSERT
+        assertNotNull(resultado);
+        verify(clienteRepository, never()).buscarChavesExistentes(anyCollection(), anyCollection());
         verify(clienteRepository, times(1)).save(cliente);
+        verify(filtroUnicidade).registrar(cliente.getEmail(), cliente.getCpf());
+    }
+
+    @Test
+    public void deveRegistrarFalsoPositivoQuandoBancoNaoConfirmaChaves() {
+        Cliente cliente = novoCliente("joao.silva@gmail.com", "123.456.789-09");
+
+        when(clienteRepository.buscarChavesExistentes(anyCollection(), anyCollection())).thenReturn(List.of());
+        when(clienteRepository.save(cliente)).thenReturn(cliente);
+
+        clienteService.salvarCliente(cliente);
+
+        verify(filtroUnicidade, times(1)).registrarFalsoPositivo();
     }
 
     @Test
@@ -55,10 +143,11 @@ public class ClienteServiceTest {
         Cliente cliente = new Cliente();
         cliente.setNome("João Silva");
         cliente.setEmail("joao.silva@gmail.com");
-        cliente.setCpf("123.456.789-00");
+        cliente.setCpf("123.456.789-09");
         cliente.setDataNascimento(LocalDate.of(1990, 5, 10));
 
-        when(clienteRepository.findByEmail(cliente.getEmail())).thenReturn(Optional.of(cliente));
+        when(clienteRepository.buscarChavesExistentes(anyCollection(), anyCollection()))
+                .thenReturn(List.of(chaves(cliente.getEmail(), cliente.getCpf())));
 
         // Execução e Verificação
         IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> {
@@ -74,11 +163,28 @@ public class ClienteServiceTest {
         Cliente cliente = new Cliente();
         cliente.setNome("João Silva");
         cliente.setEmail("joao.silva@gmail.com");
-        cliente.setCpf("123.456.789-00");
+        cliente.setCpf("123.456.789-09");
         cliente.setDataNascimento(LocalDate.of(1990, 5, 10));
 
-        when(clienteRepository.findByEmail(cliente.getEmail())).thenReturn(Optional.empty());
-        when(clienteRepository.findByCpf(cliente.getCpf())).thenReturn(Optional.of(cliente));
+        when(clienteRepository.buscarChavesExistentes(anyCollection(), anyCollection()))
+                .thenReturn(List.of(chaves("outro.email@gmail.com", cliente.getCpf())));
+
+        // Execução e Verificação
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> {
+            clienteService.salvarCliente(cliente);
+        });
+
+        assertEquals("CPF já cadastrado", ex.getMessage());
+    }
+
+    @Test
+    public void deveTraduzirViolacaoDaChaveUnicaDeCpfNoInsert() {
+        // Dados de entrada: a verificação passa, mas outra requisição grava o mesmo CPF antes do INSERT
+        Cliente cliente = novoCliente("joao.silva@gmail.com", "123.456.789-09");
+
+        when(clienteRepository.buscarChavesExistentes(anyCollection(), anyCollection())).thenReturn(List.of());
+        when(clienteRepository.save(cliente)).thenThrow(new DataIntegrityViolationException(
+                "could not execute statement", new RuntimeException("Duplicate entry for key 'cliente.uk_cliente_cpf'")));
 
         // Execução e Verificação
         IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> {
@@ -94,7 +200,7 @@ public class ClienteServiceTest {
         Cliente cliente = new Cliente();
         cliente.setNome("João Silva");
         cliente.setEmail("joao.silva@gmail.com");
-        cliente.setCpf("123.456.789-00");
+        cliente.setCpf("123.456.789-09");
         // Define a data de nascimento que gera uma idade menor que 18
         cliente.setDataNascimento(LocalDate.now().minusYears(17));
 
@@ -113,7 +219,7 @@ public class ClienteServiceTest {
         clienteExistente.setId(1L);
         clienteExistente.setNome("João Silva");
         clienteExistente.setEmail("joao.silva@gmail.com");
-        clienteExistente.setCpf("123.456.789-00");
+        clienteExistente.setCpf("123.456.789-09");
         clienteExistente.setDataNascimento(LocalDate.of(1990, 5, 10));
 
         Cliente clienteAtualizado = new Cliente();
@@ -144,18 +250,450 @@ public class ClienteServiceTest {
         when(clienteRepository.findById(1L)).thenReturn(Optional.empty());
 
         // Execução e Verificação
-        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> {
+        ClienteNaoEncontradoException ex = assertThrows(ClienteNaoEncontradoException.class, () -> {
             clienteService.atualizarCliente(1L, clienteAtualizado);
         });
 
         assertEquals("Cliente não encontrado", ex.getMessage());
     }
+
+    @Test
+    public void deveListarPrimeiraPaginaComCursorDaProxima() {
+        // Dados de entrada: o repositório devolve um registro a mais que o limite
+        Cliente primeiro = new Cliente();
+        primeiro.setId(1L);
+        Cliente segundo = new Cliente();
+        segundo.setId(2L);
+        Cliente terceiro = new Cliente();
+        terceiro.setId(3L);
+
+        when(clienteRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(3)))
+                .thenReturn(List.of(primeiro, segundo, terceiro));
+
+        // Execução
+        Pagina<Cliente> pagina = clienteService.listarClientes(null, 2);
+
+        // Verificações
+        assertEquals(2, pagina.itens().size());
+        assertNotNull(pagina.next());
+
+        // O cursor devolvido continua a listagem a partir do último ID da página
+        when(clienteRepository.findByIdGreaterThanOrderByIdAsc(2L, Limit.of(3))).thenReturn(List.of(terceiro));
+        Pagina<Cliente> proxima = clienteService.listarClientes(pagina.next(), 2);
+
+        assertEquals(1, proxima.itens().size());
+        assertNull(proxima.next());
+    }
+
+    @Test
+    public void deveListarResumosSemCarregarEntidades() {
+        List<ClienteResumo> resumos = List.of(
+                new ClienteResumo(1L, "Cliente 1", "cliente1@gmail.com", "123.456.789-09", null, LocalDate.of(1990, 5, 10)),
+                new ClienteResumo(2L, "Cliente 2", "cliente2@gmail.com", "987.654.321-00", null, LocalDate.of(1990, 5, 10)));
+        when(clienteRepository.buscarResumosAposId(0L, Limit.of(2))).thenReturn(resumos);
+
+        // Execução
+        Pagina<ClienteResumo> pagina = clienteService.listarResumos(null, 1);
+
+        // Verificações: a página vem da projeção e o cursor aponta para o último item
+        assertEquals(1, pagina.itens().size());
+        assertEquals("Cliente 1", pagina.itens().get(0).nome());
+        assertNotNull(pagina.next());
+        verify(clienteRepository, never()).findByIdGreaterThanOrderByIdAsc(anyLong(), any(Limit.class));
+    }
+
+    @Test
+    public void deveListarSoOsCamposPedidosComEnderecos() {
+        // Dados de entrada: a consulta devolve só as colunas pedidas; os endereços vêm de outra consulta
+        Map<String, Object> primeiro = new LinkedHashMap<>(Map.of("id", 1L));
+        primeiro.put("nome", "Cliente 1");
+        Map<String, Object> segundo = new LinkedHashMap<>(Map.of("id", 2L));
+        segundo.put("nome", "Cliente 2");
+        when(clienteRepository.buscarCamposAposId(List.of("id", "nome"), 0L, Limit.of(2)))
+                .thenReturn(List.of(primeiro, segundo));
+        when(enderecoRepository.buscarResumosPorClienteIds(Set.of(1L))).thenReturn(List.of(
+                new EnderecoResumo(7L, "Rua Exemplo", "123", "Bairro Central", "São Paulo", "SP", "12345-678", 1L)));
+
+        // Execução: campos fora de ordem, repetidos e com espaços
+        Pagina<Map<String, Object>> pagina = clienteService.listarCampos("enderecos, nome,id,nome", null, 1);
+
+        // Verificações: só o primeiro cliente, com a lista de endereços, e o cursor da próxima página
+        assertEquals(1, pagina.itens().size());
+        assertEquals(List.of("id", "nome", "enderecos"), List.copyOf(pagina.itens().get(0).keySet()));
+        List<?> enderecos = (List<?>) pagina.itens().get(0).get("enderecos");
+        assertEquals("Rua Exemplo", ((Endereco) enderecos.get(0)).getRua());
+        assertNotNull(pagina.next());
+        verify(clienteRepository, never()).findByIdGreaterThanOrderByIdAsc(anyLong(), any(Limit.class));
+    }
+
+    @Test
+    public void deveLancarExcecaoQuandoCampoInvalido() {
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> {
+            clienteService.buscarCamposPorId(1L, "nome,senha");
+        });
+
+        assertTrue(ex.getMessage().startsWith("Campo inválido: senha"));
+        assertThrows(IllegalArgumentException.class, () -> clienteService.listarCampos(" , ", null, 10));
+        verifyNoInteractions(clienteRepository, enderecoRepository);
+    }
+
+    @Test
+    public void deveLancarExcecaoQuandoCursorInvalido() {
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> {
+            clienteService.listarClientes("@@@", 10);
+        });
+
+        assertEquals("Cursor inválido", ex.getMessage());
+    }
+
+    @Test
+    public void deveLancarExcecaoQuandoLimiteForaDoIntervalo() {
+        assertThrows(IllegalArgumentException.class, () -> clienteService.listarClientes(null, 0));
+        assertThrows(IllegalArgumentException.class, () -> clienteService.listarClientes(null, ClienteService.LIMITE_MAXIMO + 1));
+        verifyNoInteractions(clienteRepository);
+    }
+
+    @Test
+    public void deveExportarClientesEmNdjsonDesanexandoCadaUm() throws Exception {
+        // Dados de entrada
+        Cliente primeiro = new Cliente();
+        primeiro.setId(1L);
+        primeiro.setNome("João Silva");
+        Cliente segundo = new Cliente();
+        segundo.setId(2L);
+        segundo.setNome("Maria Souza");
+
+        when(clienteRepository.buscarTodosComEnderecos()).thenReturn(Stream.of(primeiro, segundo));
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        // Execução
+        long exportados = clienteService.exportarClientes(saida);
+
+        // Verificações: um objeto JSON por linha, cada cliente desanexado após a escrita
+        String[] linhas = saida.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, exportados);
+        assertEquals(2, linhas.length);
+        assertEquals("João Silva", objectMapper.readTree(linhas[0]).get("nome").asText());
+        assertEquals("Maria Souza", objectMapper.readTree(linhas[1]).get("nome").asText());
+        verify(entityManager).detach(primeiro);
+        verify(entityManager).detach(segundo);
+    }
+
+    @Test
+    public void deveSalvarLoteComUmaUnicaConsultaDeUnicidade() {
+        // Dados de entrada
+        Cliente primeiro = novoCliente("joao.silva@gmail.com", "123.456.789-09");
+        Cliente segundo = novoCliente("maria.souza@gmail.com", "987.654.321-00");
+        List<Cliente> lote = List.of(primeiro, segundo);
+
+        when(clienteRepository.buscarChavesExistentes(anyCollection(), anyCollection())).thenReturn(List.of());
+        when(clienteRepository.saveAllAndFlush(lote)).thenReturn(lote);
+
+        // Execução
+        List<Cliente> resultado = clienteService.salvarClientes(lote);
+
+        // Verificações
+        assertEquals(2, resultado.size());
+        verify(clienteRepository, times(1)).buscarChavesExistentes(anyCollection(), anyCollection());
+        verify(clienteRepository, never()).findByEmail(anyString());
+        verify(clienteRepository, never()).findByCpf(anyString());
+        verify(clienteRepository, times(1)).saveAllAndFlush(lote);
+    }
+
+    @Test
+    public void deveLancarExcecaoQuandoEmailRepetidoNoLote() {
+        List<Cliente> lote = List.of(
+                novoCliente("joao.silva@gmail.com", "123.456.789-09"),
+                novoCliente("joao.silva@gmail.com", "987.654.321-00"));
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> {
+            clienteService.salvarClientes(lote);
+        });
+
+        assertEquals("Email repetido no lote: joao.silva@gmail.com", ex.getMessage());
+        verifyNoInteractions(clienteRepository);
+    }
+
+    @Test
+    public void deveLancarExcecaoQuandoCpfDoLoteJaCadastrado() {
+        List<Cliente> lote = List.of(novoCliente("joao.silva@gmail.com", "123.456.789-09"));
+
+        when(clienteRepository.buscarChavesExistentes(anyCollection(), anyCollection()))
+                .thenReturn(List.of(chaves("outro@gmail.com", "123.456.789-09")));
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> {
+            clienteService.salvarClientes(lote);
+        });
+
+        assertEquals("CPF já cadastrado: 123.456.789-09", ex.getMessage());
+        verify(clienteRepository, never()).saveAllAndFlush(anyCollection());
+    }
+
+    @Test
+    public void deveAlterarApenasCamposInformadosNoPatch() {
+        Cliente existente = novoCliente("joao.silva@gmail.com", "123.456.789-09");
+        existente.setTelefone("(11) 99999-9999");
+        existente.setVersao(2L);
+        when(clienteRepository.findById(1L)).thenReturn(Optional.of(existente));
+
+        // Execução: só o nome é enviado
+        Cliente resultado = clienteService.atualizarParcialmente(1L,
+                new ClientePatch("João Atualizado", null, null, null, null), 2L);
+
+        // Verificações: os demais campos continuam iguais e o filtro não é alterado
+        assertEquals("João Atualizado", resultado.getNome());
+        assertEquals("joao.silva@gmail.com", resultado.getEmail());
+        assertEquals("(11) 99999-9999", resultado.getTelefone());
+        verify(clienteRepository).saveAndFlush(existente);
+        verify(filtroUnicidade, never()).registrar(anyString(), anyString());
+    }
+
+    @Test
+    public void deveRejeitarPatchComVersaoDesatualizada() {
+        Cliente existente = novoCliente("joao.silva@gmail.com", "123.456.789-09");
+        existente.setVersao(3L);
+        when(clienteRepository.findById(1L)).thenReturn(Optional.of(existente));
+
+        // Execução e verificação: o cliente está na versão 3, mas a requisição partiu da 2
+        assertThrows(OptimisticLockingFailureException.class, () -> clienteService.atualizarParcialmente(1L,
+                new ClientePatch("João Atualizado", null, null, null, null), 2L));
+        verify(clienteRepository, never()).saveAndFlush(any(Cliente.class));
+    }
+
+    @Test
+    public void deveBuscarVariosClientesUsandoCacheEUmaConsulta() {
+        // Cliente 2 já em cache; 1 e 3 precisam do banco, e o 3 não existe
+        Cliente emCache = novoCliente("maria.souza@gmail.com", "987.654.321-00");
+        emCache.setId(2L);
+        Cliente doBanco = novoCliente("joao.silva@gmail.com", "123.456.789-09");
+        doBanco.setId(1L);
+        ConcurrentMapCache cache = new ConcurrentMapCache("clientes");
+        cache.put(2L, ClienteEmCache.de(emCache));
+        when(cacheManager.getCache("clientes")).thenReturn(cache);
+        when(clienteRepository.findByIdIn(Set.of(1L, 3L))).thenReturn(List.of(doBanco));
+
+        // Execução
+        List<ItemCliente> itens = clienteService.buscarClientesPorIds(List.of(3L, 2L, 1L));
+
+        // Verificações: ordem do pedido, marcação do não encontrado e o cliente do banco guardado no cache
+        assertEquals(List.of(3L, 2L, 1L), itens.stream().map(ItemCliente::id).toList());
+        assertFalse(itens.get(0).encontrado());
+        assertNull(itens.get(0).cliente());
+        assertEquals("maria.souza@gmail.com", itens.get(1).cliente().getEmail());
+        assertEquals("joao.silva@gmail.com", itens.get(2).cliente().getEmail());
+        assertEquals(ClienteEmCache.de(doBanco), cache.get(1L, ClienteEmCache.class));
+        verify(clienteRepository, times(1)).findByIdIn(anyCollection());
+    }
+
+    @Test
+    public void deveLancarExcecaoQuandoIdsForaDoLimite() {
+        List<Long> muitosIds = java.util.stream.LongStream.rangeClosed(1, 101).boxed().toList();
+
+        assertThrows(IllegalArgumentException.class, () -> clienteService.buscarClientesPorIds(List.of()));
+        assertThrows(IllegalArgumentException.class, () -> clienteService.buscarClientesPorIds(muitosIds));
+        verifyNoInteractions(clienteRepository);
+    }
+
+    @Test
+    public void deveBuscarClienteNoBancoSoUmaVezParaBuscasSimultaneas() throws Exception {
+        // Dados de entrada: 2 clientes fora do cache, 16 buscas simultâneas para cada um
+        int buscasPorCliente = 16;
+        ConcurrentMapCache cache = new ConcurrentMapCache("clientes");
+        when(cacheManager.getCache("clientes")).thenReturn(cache);
+        CargaUnica<?, ?> cargas = (CargaUnica<?, ?>) ReflectionTestUtils.getField(clienteService, "cargasPorId");
+        when(clienteRepository.findById(anyLong())).thenAnswer(invocacao -> {
+            // A consulta só termina depois que todas as outras buscas estão esperando por ela
+            long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (cargas.getEsperasCoalescidas() < 2L * (buscasPorCliente - 1) && System.nanoTime() < limite) {
+                Thread.onSpinWait();
+            }
+            Cliente cliente = novoCliente("joao.silva@gmail.com", "123.456.789-09");
+            cliente.setId(invocacao.getArgument(0));
+            return Optional.of(cliente);
+        });
+
+        // Execução
+        ExecutorService executor = Executors.newFixedThreadPool(2 * buscasPorCliente);
+        List<Future<Optional<Cliente>>> resultados = new ArrayList<>();
+        try {
+            for (int i = 0; i < buscasPorCliente; i++) {
+                resultados.add(executor.submit(() -> clienteService.buscarClientePorId(1L)));
+                resultados.add(executor.submit(() -> clienteService.buscarClientePorId(2L)));
+            }
+            for (Future<Optional<Cliente>> resultado : resultados) {
+                assertTrue(resultado.get(10, TimeUnit.SECONDS).isPresent());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Verificações: uma única consulta por ID e o resultado guardado no cache
+        verify(clienteRepository, times(1)).findById(1L);
+        verify(clienteRepository, times(1)).findById(2L);
+        assertEquals(2L * (buscasPorCliente - 1), cargas.getEsperasCoalescidas());
+        assertNotNull(cache.get(1L, ClienteEmCache.class));
+        assertNotNull(cache.get(2L, ClienteEmCache.class));
+    }
+
+    @Test
+    public void deveBuscarClienteNoCacheSemConsultarBanco() {
+        Cliente cliente = novoCliente("joao.silva@gmail.com", "123.456.789-09");
+        ConcurrentMapCache cache = new ConcurrentMapCache("clientes");
+        cache.put(1L, ClienteEmCache.de(cliente));
+        when(cacheManager.getCache("clientes")).thenReturn(cache);
+
+        // Cada busca recebe um Cliente novo: alterar um não muda o que está em cache
+        Cliente primeiro = clienteService.buscarClientePorId(1L).orElseThrow();
+        primeiro.setNome("Outro Nome");
+        Cliente segundo = clienteService.buscarClientePorId(1L).orElseThrow();
+
+        assertNotSame(primeiro, segundo);
+        assertEquals("João Silva", segundo.getNome());
+        assertEquals("joao.silva@gmail.com", segundo.getEmail());
+        verifyNoInteractions(clienteRepository);
+    }
+
+    @Test
+    public void naoDeveGuardarCargaQueComecouAntesDeUmDescarte() {
+        ConcurrentMapCache cache = new ConcurrentMapCache("clientes");
+        when(cacheManager.getCache("clientes")).thenReturn(cache);
+        when(clienteRepository.findById(1L)).thenAnswer(invocacao -> {
+            // Uma escrita confirma e descarta o cliente enquanto a carga lê a versão anterior
+            geracoesClientes.avancar(1L);
+            Cliente cliente = novoCliente("joao.silva@gmail.com", "123.456.789-09");
+            cliente.setId(1L);
+            return Optional.of(cliente);
+        });
+
+        // Execução
+        assertTrue(clienteService.buscarClientePorId(1L).isPresent());
+
+        // Verificações: o resultado é devolvido, mas não fica em cache, e a próxima busca vai ao banco
+        assertNull(cache.get(1L));
+        clienteService.buscarClientePorId(1L);
+        verify(clienteRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    public void naoDeveGuardarClienteInexistenteNoCache() {
+        ConcurrentMapCache cache = new ConcurrentMapCache("clientes");
+        when(cacheManager.getCache("clientes")).thenReturn(cache);
+        when(clienteRepository.findById(9L)).thenReturn(Optional.empty());
+
+        assertTrue(clienteService.buscarClientePorId(9L).isEmpty());
+        assertNull(cache.get(9L));
+    }
+
+    @Test
+    public void deveRemoverClientesEEnderecosSemCarregarEntidades() {
+        // Dados de entrada: clientes 1 e 2 em cache, ID repetido no pedido
+        ConcurrentMapCache cacheClientes = new ConcurrentMapCache("clientes");
+        ConcurrentMapCache cacheEnderecos = new ConcurrentMapCache("enderecosPorCliente");
+        cacheClientes.put(1L, ClienteEmCache.de(novoCliente("joao.silva@gmail.com", "123.456.789-09")));
+        cacheClientes.put(2L, ClienteEmCache.de(novoCliente("maria.souza@gmail.com", "987.654.321-00")));
+        cacheEnderecos.put(1L, List.of());
+        when(cacheManager.getCache("clientes")).thenReturn(cacheClientes);
+        when(cacheManager.getCache("enderecosPorCliente")).thenReturn(cacheEnderecos);
+        when(clienteRepository.removerPorIds(Set.of(1L, 2L))).thenReturn(2);
+
+        // Execução
+        clienteService.removerClientes(List.of(1L, 2L, 1L));
+
+        // Verificações: endereços antes dos clientes, nada carregado e os caches descartados
+        InOrder ordem = inOrder(enderecoRepository, clienteRepository);
+        ordem.verify(enderecoRepository).removerDosClientes(Set.of(1L, 2L));
+        ordem.verify(clienteRepository).removerPorIds(Set.of(1L, 2L));
+        verify(clienteRepository, never()).findById(anyLong());
+        verify(clienteRepository, never()).deleteById(anyLong());
+        verify(filtroUnicidade).registrarObsoletas(2);
+        assertNull(cacheClientes.get(1L));
+        assertNull(cacheClientes.get(2L));
+        assertNull(cacheEnderecos.get(1L));
+    }
+
+    @Test
+    public void deveLancarExcecaoQuandoRemocaoSemIds() {
+        assertThrows(IllegalArgumentException.class, () -> clienteService.removerClientes(List.of()));
+        verifyNoInteractions(clienteRepository, enderecoRepository);
+    }
+
+    @Test
+    public void deveBuscarVersaoNoCacheSemConsultarBanco() {
+        // Cliente já em cache
+        Cliente cliente = novoCliente("joao.silva@gmail.com", "123.456.789-09");
+        cliente.setVersao(4L);
+        ConcurrentMapCache cache = new ConcurrentMapCache("clientes");
+        cache.put(1L, ClienteEmCache.de(cliente));
+        when(cacheManager.getCache("clientes")).thenReturn(cache);
+
+        // Execução e verificação
+        assertEquals(Optional.of(4L), clienteService.buscarVersao(1L));
+        verify(clienteRepository, never()).buscarVersao(anyLong());
+    }
+
+    @Test
+    public void deveBuscarVersaoNoBancoQuandoClienteForaDoCache() {
+        when(cacheManager.getCache("clientes")).thenReturn(new ConcurrentMapCache("clientes"));
+        when(clienteRepository.buscarVersao(1L)).thenReturn(Optional.of(7L));
+
+        // Execução e verificação: só a versão é consultada, sem carregar o cliente
+        assertEquals(Optional.of(7L), clienteService.buscarVersao(1L));
+        verify(clienteRepository, never()).findById(anyLong());
+    }
+
+    private Cliente novoCliente(String email, String cpf) {
+        Cliente cliente = new Cliente();
+        cliente.setNome("João Silva");
+        cliente.setEmail(email);
+        cliente.setCpf(cpf);
+        cliente.setDataNascimento(LocalDate.of(1990, 5, 10));
+        return cliente;
+    }
+
+    private ChavesCliente chaves(String email, String cpf) {
+        return new ChavesCliente() {
+            @Override
+            public String getEmail() {
+                return email;
+            }
+
+            @Override
+            public String getCpf() {
+                return cpf;
+            }
+        };
+    }
 }
 
 
 // 1. Salvar Cliente com Sucesso: Verifica se um cliente é salvo corretamente quando não há conflitos de email ou CPF já cadastrados. 
+// 1.1 Salvar sem Consultar o Banco: Verifica que, quando o filtro de unicidade descarta as chaves, só o INSERT é executado.
+// 1.2 Falso Positivo do Filtro: Verifica que a resposta "talvez" não confirmada pelo banco é contabilizada.
 // 2. Exceção quando Email Já Cadastrado: Garante que uma exceção é lançada se o email do cliente já estiver cadastrado no sistema. 
 // 3. Exceção quando CPF Já Cadastrado: Garante que uma exceção é lançada se o CPF do cliente já estiver cadastrado no sistema. 
+// 3.1 Tradução da Chave Única: Garante que a violação da chave única de CPF no INSERT vira a mesma mensagem de negócio.
 // 4. Exceção quando Idade Menor que 18 Anos: Verifica se uma exceção é lançada quando o cliente tem menos de 18 anos de idade. 
 // 5. Atualizar Cliente com Sucesso: Testa se um cliente existente é atualizado corretamente com novos dados. 
-// 6. Exceção quando Cliente Não Encontrado para Atualização: Garante que uma exceção é lançada se tentar atualizar um cliente inexistente.
\ No newline at end of file
+// 6. Exceção quando Cliente Não Encontrado para Atualização: Garante que uma exceção é lançada se tentar atualizar um cliente inexistente.
+// 7. Listar Primeira Página: Verifica a paginação por cursor, incluindo o cursor da próxima página e o fim da listagem.
+// 7.1 Listar Resumos: Verifica que a listagem resumida usa a projeção e devolve o cursor da próxima página.
+// 7.2 Listar Campos Pedidos: Verifica que só as colunas pedidas são consultadas, na ordem da resposta, e que os endereços vêm em uma consulta à parte.
+// 7.3 Campo Inválido: Garante que campos desconhecidos ou a ausência de campos são rejeitados sem consultar o banco.
+// 8. Cursor Inválido: Garante que um cursor malformado é rejeitado.
+// 9. Limite Fora do Intervalo: Garante que limites menores que 1 ou maiores que o máximo são rejeitados sem consultar o banco.
+// 10. Exportar em NDJSON: Verifica se cada cliente é escrito em uma linha e desanexado do contexto de persistência.
+// 11. Salvar Lote: Verifica se a unicidade de todo o lote é checada em uma única consulta antes do saveAll.
+// 12. Email Repetido no Lote: Garante que duplicidades dentro do próprio lote são rejeitadas sem consultar o banco.
+// 13. CPF do Lote Já Cadastrado: Garante que o lote é rejeitado quando algum CPF já existe no banco.
+// 13.1 PATCH Parcial: Verifica que só os campos enviados são alterados.
+// 13.2 PATCH com Versão Desatualizada: Garante que um If-Match antigo é rejeitado sem gravar nada.
+// 13.3 Buscar Vários Clientes: Verifica o uso do cache, a consulta única para o restante, a ordem do pedido e os não encontrados.
+// 13.4 IDs Fora do Limite: Garante que buscas sem IDs ou com IDs demais são rejeitadas sem consultar o banco.
+// 13.5 Buscas Simultâneas: Dispara buscas concorrentes pelos mesmos IDs e verifica que cada ID é consultado no banco uma única vez.
+// 13.6 Busca em Cache: Verifica que um cliente em cache é devolvido sem consultar o banco, e que cada busca recebe uma cópia própria.
+// 13.6.1 Carga Anterior ao Descarte: Garante que um cliente lido antes de um descarte não é guardado no cache.
+// 13.7 Cliente Inexistente: Garante que um ID inexistente não é guardado no cache.
+// 13.8 Remover Clientes: Verifica que endereços e clientes são removidos com um DELETE cada, sem carregar entidades, e que os caches são descartados.
+// 13.9 Remoção sem IDs: Garante que uma remoção sem IDs é rejeitada sem consultar o banco.
+// 14. Versão em Cache: Verifica que a versão (ETag) de um cliente em cache é obtida sem ir ao banco.
+// 15. Versão fora do Cache: Verifica que, sem o cliente em cache, só a versão é consultada.
\ No newline at end of file
@@ -1,5 +1,6 @@
 package br.edu.ibmec.projeto_cloud.service;
 
+import br.edu.ibmec.projeto_cloud.dto.EnderecoResumo;
 import br.edu.ibmec.projeto_cloud.model.Cliente;
 import br.edu.ibmec.projeto_cloud.model.Endereco;
 import br.edu.ibmec.projeto_cloud.repository.ClienteRepository;
@@ -10,7 +11,11 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -24,12 +29,23 @@ public class EnderecoServiceTest {
     @Mock
     private ClienteRepository clienteRepository;
 
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private Cache cacheClientes;
+
+    @Mock
+    private Cache cacheEnderecos;
+
     @InjectMocks
     private EnderecoService enderecoService;
 
     @BeforeEach
     public void setup() {
         MockitoAnnotations.openMocks(this);
+        when(cacheManager.getCache("clientes")).thenReturn(cacheClientes);
+        when(cacheManager.getCache("enderecosPorCliente")).thenReturn(cacheEnderecos);
     }
 
     @Test
@@ -42,7 +58,7 @@ public class EnderecoServiceTest {
         endereco.setCliente(cliente);
         endereco.setRua("Rua Exemplo");
 
-        when(clienteRepository.findById(1L)).thenReturn(Optional.of(cliente));
+        when(clienteRepository.buscarParaAlterarEnderecos(1L)).thenReturn(Optional.of(cliente));
         when(enderecoRepository.save(endereco)).thenReturn(endereco);
 
         // Execução
@@ -52,6 +68,7 @@ public class EnderecoServiceTest {
         assertNotNull(resultado);
         assertEquals("Rua Exemplo", resultado.getRua());
         assertEquals(1L, resultado.getCliente().getId());
+        assertTrue(cliente.getEnderecos().contains(endereco));
         verify(enderecoRepository, times(1)).save(endereco);
     }
 
@@ -64,7 +81,7 @@ public class EnderecoServiceTest {
         Endereco endereco = new Endereco();
         endereco.setCliente(cliente);
 
-        when(clienteRepository.findById(2L)).thenReturn(Optional.empty());
+        when(clienteRepository.buscarParaAlterarEnderecos(2L)).thenReturn(Optional.empty());
 
         // Execução e Verificação
         EntityNotFoundException ex = assertThrows(EntityNotFoundException.class, () -> {
@@ -93,22 +110,23 @@ public class EnderecoServiceTest {
 
         Endereco enderecoExistente = new Endereco();
         enderecoExistente.setId(1L);
-        enderecoExistente.setCliente(cliente);
         enderecoExistente.setRua("Rua Antiga");
+        enderecoExistente.setCliente(cliente);
 
         Endereco enderecoAtualizado = new Endereco();
         enderecoAtualizado.setRua("Rua Atualizada");
 
+        when(clienteRepository.buscarParaAlterarEnderecos(1L)).thenReturn(Optional.of(cliente));
         when(enderecoRepository.findById(1L)).thenReturn(Optional.of(enderecoExistente));
-        when(enderecoRepository.save(enderecoExistente)).thenReturn(enderecoExistente);
 
         // Execução
         Endereco resultado = enderecoService.atualizarEndereco(1L, 1L, enderecoAtualizado);
 
-        // Verificações
-        assertNotNull(resultado);
+        // Verificações: o endereço carregado é alterado e gravado no flush, sem save
+        assertSame(enderecoExistente, resultado);
         assertEquals("Rua Atualizada", resultado.getRua());
-        verify(enderecoRepository, times(1)).save(enderecoExistente);
+        assertEquals(1L, resultado.getCliente().getId());
+        verify(enderecoRepository, never()).save(any(Endereco.class));
     }
 
     @Test
@@ -122,11 +140,13 @@ public class EnderecoServiceTest {
 
         Endereco enderecoExistente = new Endereco();
         enderecoExistente.setId(1L);
+        enderecoExistente.setRua("Rua Antiga");
         enderecoExistente.setCliente(outroCliente);
 
         Endereco enderecoAtualizado = new Endereco();
         enderecoAtualizado.setRua("Rua Atualizada");
 
+        when(clienteRepository.buscarParaAlterarEnderecos(1L)).thenReturn(Optional.of(cliente));
         when(enderecoRepository.findById(1L)).thenReturn(Optional.of(enderecoExistente));
 
         // Execução e Verificação
@@ -135,6 +155,25 @@ public class EnderecoServiceTest {
         });
 
         assertEquals("Endereço não pertence ao cliente informado.", ex.getMessage());
+        assertEquals("Rua Antiga", enderecoExistente.getRua());
+    }
+
+    @Test
+    public void deveLancarExcecaoQuandoEnderecoNaoExisteNaAtualizacao() {
+        Cliente cliente = new Cliente();
+        cliente.setId(1L);
+
+        Endereco enderecoAtualizado = new Endereco();
+        enderecoAtualizado.setRua("Rua Atualizada");
+
+        when(clienteRepository.buscarParaAlterarEnderecos(1L)).thenReturn(Optional.of(cliente));
+        when(enderecoRepository.findById(9L)).thenReturn(Optional.empty());
+
+        EntityNotFoundException ex = assertThrows(EntityNotFoundException.class, () -> {
+            enderecoService.atualizarEndereco(1L, 9L, enderecoAtualizado);
+        });
+
+        assertEquals("Endereço não encontrado", ex.getMessage());
     }
 
     @Test
@@ -146,13 +185,16 @@ public class EnderecoServiceTest {
         Endereco endereco = new Endereco();
         endereco.setId(1L);
         endereco.setCliente(cliente);
+        cliente.getEnderecos().add(endereco);
 
+        when(clienteRepository.buscarParaAlterarEnderecos(1L)).thenReturn(Optional.of(cliente));
         when(enderecoRepository.findById(1L)).thenReturn(Optional.of(endereco));
 
         // Execução
         enderecoService.removerEnderecoPorCliente(1L, 1L);
 
-        // Verificações
+        // Verificações: o endereço sai da lista do cliente antes de ser removido
+        assertTrue(cliente.getEnderecos().isEmpty());
         verify(enderecoRepository, times(1)).delete(endereco);
     }
 
@@ -168,7 +210,9 @@ public class EnderecoServiceTest {
         Endereco endereco = new Endereco();
         endereco.setId(1L);
         endereco.setCliente(outroCliente);
+        outroCliente.getEnderecos().add(endereco);
 
+        when(clienteRepository.buscarParaAlterarEnderecos(1L)).thenReturn(Optional.of(cliente));
         when(enderecoRepository.findById(1L)).thenReturn(Optional.of(endereco));
 
         // Execução e Verificação
@@ -177,6 +221,53 @@ public class EnderecoServiceTest {
         });
 
         assertEquals("Endereço não pertence ao cliente informado.", ex.getMessage());
+        assertTrue(outroCliente.getEnderecos().contains(endereco));
+        verify(enderecoRepository, never()).delete(any(Endereco.class));
+    }
+
+    @Test
+    public void deveDescartarClienteDoCacheAoRemoverEnderecoPorId() {
+        // Dados de entrada
+        Cliente cliente = new Cliente();
+        cliente.setId(1L);
+
+        Endereco endereco = new Endereco();
+        endereco.setId(5L);
+        endereco.setCliente(cliente);
+        cliente.getEnderecos().add(endereco);
+
+        when(enderecoRepository.buscarClienteIdPorEnderecoId(5L)).thenReturn(Optional.of(1L));
+        when(clienteRepository.buscarParaAlterarEnderecos(1L)).thenReturn(Optional.of(cliente));
+        when(enderecoRepository.findById(5L)).thenReturn(Optional.of(endereco));
+
+        // Execução
+        enderecoService.removerEndereco(5L);
+
+        // Verificações: o endereço sai da lista do cliente antes de ser removido
+        assertTrue(cliente.getEnderecos().isEmpty());
+        verify(enderecoRepository, times(1)).delete(endereco);
+        verify(cacheClientes, times(1)).evict(1L);
+        verify(cacheEnderecos, times(1)).evict(1L);
+    }
+
+    @Test
+    public void deveListarEnderecosDoCacheSemConsultarNovamente() {
+        // Dados de entrada: a consulta já devolve a projeção, sem entidades
+        EnderecoResumo endereco = new EnderecoResumo(1L, "Rua Exemplo", "123", "Bairro Central", "São Paulo", "SP",
+                "12345-678", 1L);
+
+        when(cacheManager.getCache("enderecosPorCliente")).thenReturn(new ConcurrentMapCache("enderecosPorCliente"));
+        when(enderecoRepository.buscarResumosPorClienteId(1L)).thenReturn(List.of(endereco));
+
+        // Execução
+        List<Endereco> primeiraChamada = enderecoService.listarEnderecosPorCliente(1L);
+        List<Endereco> segundaChamada = enderecoService.listarEnderecosPorCliente(1L);
+
+        // Verificações: uma única consulta e cópias novas a cada chamada
+        verify(enderecoRepository, times(1)).buscarResumosPorClienteId(1L);
+        assertEquals("Rua Exemplo", segundaChamada.get(0).getRua());
+        assertEquals(1L, segundaChamada.get(0).getCliente().getId());
+        assertNotSame(primeiraChamada.get(0), segundaChamada.get(0));
     }
 }
 
@@ -186,5 +277,8 @@ public class EnderecoServiceTest {
 // 3. Exceção quando Cliente é Nulo: Verifica se uma exceção é lançada quando o cliente não é fornecido.
 // 4. Atualizar Endereço com Sucesso: Testa se o endereço é atualizado corretamente quando o cliente está associado.
 // 5. Exceção quando Endereço Não Pertence ao Cliente: Garante que uma exceção é lançada se o endereço não pertencer ao cliente informado.
+// 5.1 Exceção quando Endereço Não Existe na Atualização: Garante que um endereço inexistente resulta em EntityNotFoundException.
 // 6. Remover Endereço com Sucesso: Testa se um endereço é removido corretamente para um cliente válido.
-// 7. Exceção quando Remover Endereço de Outro Cliente: Garante que uma exceção é lançada se tentar remover um endereço que não pertence ao cliente informado.
\ No newline at end of file
+// 7. Exceção quando Remover Endereço de Outro Cliente: Garante que uma exceção é lançada se tentar remover um endereço que não pertence ao cliente informado.
+// 8. Remover Endereço por ID: Garante que o endereço sai da lista do cliente e que o cliente dono e a lista de endereços dele são descartados do cache.
+// 9. Listar Endereços via Cache: Verifica que a segunda listagem não consulta o banco e devolve cópias novas.
\ No newline at end of file
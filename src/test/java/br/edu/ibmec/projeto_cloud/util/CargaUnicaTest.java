@@ -0,0 +1,105 @@
+package br.edu.ibmec.projeto_cloud.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CargaUnicaTest {
+
+    private static final int CHAVES = 8;
+    private static final int CHAMADAS_POR_CHAVE = 32;
+
+    @Test
+    public void deveExecutarUmaUnicaCargaPorChaveSobConcorrencia() throws Exception {
+        CargaUnica<Integer, String> cargaUnica = new CargaUnica<>();
+        ConcurrentHashMap<Integer, AtomicInteger> execucoes = new ConcurrentHashMap<>();
+        int esperasEsperadas = CHAVES * (CHAMADAS_POR_CHAVE - 1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(CHAVES * CHAMADAS_POR_CHAVE);
+        try {
+            List<Future<String>> resultados = new ArrayList<>();
+            for (int i = 0; i < CHAMADAS_POR_CHAVE; i++) {
+                for (int chave = 0; chave < CHAVES; chave++) {
+                    int k = chave;
+                    resultados.add(executor.submit(() -> cargaUnica.carregar(k, () -> {
+                        execucoes.computeIfAbsent(k, x -> new AtomicInteger()).incrementAndGet();
+                        // A carga só termina depois que todas as outras chamadas já estão esperando por ela
+                        aguardarAte(() -> cargaUnica.getEsperasCoalescidas() >= esperasEsperadas);
+                        return "cliente" + k;
+                    })));
+                }
+            }
+
+            for (int i = 0; i < resultados.size(); i++) {
+                assertEquals("cliente" + (i % CHAVES), resultados.get(i).get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Uma única carga por chave; todas as outras chamadas foram coalescidas
+        assertEquals(CHAVES, execucoes.size());
+        execucoes.values().forEach(contador -> assertEquals(1, contador.get()));
+        assertEquals(CHAVES, cargaUnica.getCargas());
+        assertEquals(esperasEsperadas, cargaUnica.getEsperasCoalescidas());
+        assertEquals(0, cargaUnica.getEmAndamento());
+    }
+
+    @Test
+    public void deveCarregarNovamenteDepoisQueACargaTerminar() {
+        CargaUnica<Integer, String> cargaUnica = new CargaUnica<>();
+        AtomicInteger execucoes = new AtomicInteger();
+
+        cargaUnica.carregar(1, () -> "v" + execucoes.incrementAndGet());
+        String segunda = cargaUnica.carregar(1, () -> "v" + execucoes.incrementAndGet());
+
+        // Sem concorrência nada é coalescido: o resultado não fica guardado
+        assertEquals("v2", segunda);
+        assertEquals(0, cargaUnica.getEsperasCoalescidas());
+    }
+
+    @Test
+    public void deveRepassarAMesmaExcecaoParaQuemEstaEsperando() throws Exception {
+        CargaUnica<Integer, String> cargaUnica = new CargaUnica<>();
+        IllegalStateException falha = new IllegalStateException("banco indisponível");
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> primeira = executor.submit(() -> cargaUnica.carregar(1, () -> {
+                aguardarAte(() -> cargaUnica.getEsperasCoalescidas() >= 1);
+                throw falha;
+            }));
+            aguardarAte(() -> cargaUnica.getEmAndamento() == 1);
+            Future<String> segunda = executor.submit(() -> cargaUnica.carregar(1, () -> "não deveria executar"));
+
+            Exception naPrimeira = assertThrows(Exception.class, () -> primeira.get(10, TimeUnit.SECONDS));
+            Exception naSegunda = assertThrows(Exception.class, () -> segunda.get(10, TimeUnit.SECONDS));
+            assertSame(falha, naPrimeira.getCause());
+            assertSame(falha, naSegunda.getCause());
+            assertEquals(1, cargaUnica.getCargas());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void aguardarAte(BooleanSupplier condicao) {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condicao.getAsBoolean()) {
+            if (System.nanoTime() > limite) {
+                throw new IllegalStateException("Tempo esgotado aguardando as chamadas concorrentes");
+            }
+            Thread.onSpinWait();
+        }
+    }
+}
+
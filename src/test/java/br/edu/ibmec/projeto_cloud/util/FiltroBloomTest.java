@@ -0,0 +1,66 @@
+package br.edu.ibmec.projeto_cloud.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FiltroBloomTest {
+
+    @Test
+    public void naoDeveTerFalsoNegativo() {
+        FiltroBloom filtro = new FiltroBloom(10_000, 0.01);
+
+        for (int i = 0; i < 10_000; i++) {
+            filtro.adicionar("cliente" + i + "@gmail.com");
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filtro.talvezContenha("cliente" + i + "@gmail.com"));
+        }
+    }
+
+    @Test
+    public void deveManterTaxaDeFalsoPositivoProximaDaConfigurada() {
+        FiltroBloom filtro = new FiltroBloom(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filtro.adicionar("cliente" + i + "@gmail.com");
+        }
+
+        int falsosPositivos = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filtro.talvezContenha("novo" + i + "@gmail.com")) {
+                falsosPositivos++;
+            }
+        }
+
+        // Margem para a variação estatística em torno de 1%
+        assertTrue(falsosPositivos < 2_000, "Falsos positivos: " + falsosPositivos);
+        assertEquals(0.01, filtro.probabilidadeFalsoPositivo(10_000), 0.005);
+    }
+
+    @Test
+    public void deveDimensionarMemoriaPelaCapacidade() {
+        FiltroBloom filtro = new FiltroBloom(1_000_000, 0.01);
+
+        // Aproximadamente 9,6 bits por elemento para 1% de falso positivo
+        assertEquals(1_198_136, filtro.tamanhoEmBytes(), 64);
+        assertEquals(7, filtro.getFuncoesHash());
+    }
+
+    @Test
+    public void deveEnderecarBitsAlemDe2ElevadoA31() {
+        long totalBits = 1L << 40;
+
+        // Combinações grandes caem em qualquer ponto do filtro, não só nos primeiros 2^31 bits
+        long indice = FiltroBloom.indice(0x7654_3210_fedc_ba98L, totalBits);
+        assertTrue(indice > Integer.MAX_VALUE);
+        assertTrue(indice < totalBits);
+        assertTrue(FiltroBloom.indice(-1L, totalBits) >= 0);
+    }
+
+    @Test
+    public void deveRejeitarParametrosInvalidos() {
+        assertThrows(IllegalArgumentException.class, () -> new FiltroBloom(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new FiltroBloom(100, 1.0));
+    }
+}
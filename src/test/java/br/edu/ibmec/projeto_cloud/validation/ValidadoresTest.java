@@ -0,0 +1,67 @@
+package br.edu.ibmec.projeto_cloud.validation;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ValidadoresTest {
+
+    private final CpfValidator cpfValidator = new CpfValidator();
+    private final TelefoneValidator telefoneValidator = new TelefoneValidator();
+    private final CepValidator cepValidator = new CepValidator();
+
+    @Test
+    public void deveAceitarCpfComDigitosVerificadoresValidos() {
+        assertTrue(cpfValidator.isValid("123.456.789-09", null));
+        assertTrue(cpfValidator.isValid("987.654.321-00", null));
+        assertTrue(cpfValidator.isValid("529.982.247-25", null));
+    }
+
+    @Test
+    public void deveRejeitarCpfInvalido() {
+        assertFalse(cpfValidator.isValid("123.456.789-00", null)); // Dígitos verificadores errados
+        assertFalse(cpfValidator.isValid("111.111.111-11", null)); // Todos os dígitos iguais
+        assertFalse(cpfValidator.isValid("12345678909", null));    // Sem pontuação
+        assertFalse(cpfValidator.isValid("123.456.789-0a", null));
+        assertFalse(cpfValidator.isValid("123.456.789-091", null));
+        assertFalse(cpfValidator.isValid("", null));
+    }
+
+    @Test
+    public void deveGerarCpfValidoAPartirDaBase() {
+        assertEquals("123.456.789-09", CpfValidator.gerar(123456789));
+        assertEquals("000.000.001-91", CpfValidator.gerar(1));
+        for (long base = 1; base <= 1000; base++) {
+            assertTrue(CpfValidator.valido(CpfValidator.gerar(base)), "base " + base);
+        }
+    }
+
+    @Test
+    public void deveValidarFormatoDoTelefone() {
+        assertTrue(telefoneValidator.isValid("(11) 99999-9999", null));
+        assertFalse(telefoneValidator.isValid("(11) 9999-9999", null));
+        assertFalse(telefoneValidator.isValid("11 99999-9999", null));
+        assertFalse(telefoneValidator.isValid("(11)99999-9999", null));
+    }
+
+    @Test
+    public void deveValidarFormatoDoCep() {
+        assertTrue(cepValidator.isValid("12345-678", null));
+        assertFalse(cepValidator.isValid("12345678", null));
+        assertFalse(cepValidator.isValid("1234-5678", null));
+    }
+
+    @Test
+    public void deveAceitarValoresNulos() {
+        // A obrigatoriedade fica a cargo do @NotNull
+        assertTrue(cpfValidator.isValid(null, null));
+        assertTrue(telefoneValidator.isValid(null, null));
+        assertTrue(cepValidator.isValid(null, null));
+    }
+}
+
+// 1. Aceitar CPF Válido: CPFs com dígitos verificadores corretos são aceitos.
+// 2. Rejeitar CPF Inválido: Dígitos verificadores errados, sequências repetidas e formatos diferentes de XXX.XXX.XXX-XX são rejeitados.
+// 3. Validar Telefone: Apenas o formato (XX) XXXXX-XXXX é aceito.
+// 4. Validar CEP: Apenas o formato XXXXX-XXX é aceito.
+// 5. Aceitar Nulos: Os validadores não exigem preenchimento; isso fica com o @NotNull.